@@ -1,16 +1,17 @@
 package immersive_aircraft;
 
+import immersive_aircraft.client.EngineSounds;
 import immersive_aircraft.config.Config;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.InventoryVehicleEntity;
 import immersive_aircraft.entity.weapons.Weapon;
 import immersive_aircraft.network.ClientNetworkManager;
+import immersive_aircraft.resources.ResidentMesh;
+import immersive_aircraft.util.ParticleBudget;
 import net.minecraft.client.CameraType;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 
-import java.util.List;
-
 public class ClientMain {
     public static void postLoad() {
         //finish the items
@@ -28,6 +29,10 @@ public class ClientMain {
     public static void tick() {
         Minecraft client = Minecraft.getInstance();
 
+        ParticleBudget.tick();
+        EngineSounds.tick();
+        ResidentMesh.tick();
+
         if (Config.getInstance().separateCamera) {
             LocalPlayer player = client.player;
             boolean b = player != null && player.getRootVehicle() instanceof AircraftEntity;
@@ -46,7 +51,7 @@ public class ClientMain {
 
         if (client.player != null && client.player.getVehicle() instanceof InventoryVehicleEntity vehicle) {
             if (client.options.keyUse.isDown()) {
-                for (List<Weapon> weapons : vehicle.getWeapons().values()) {
+                for (Weapon[] weapons : vehicle.getWeapons()) {
                     for (Weapon weapon : weapons) {
                         weapon.clientFire();
                     }
@@ -6,16 +6,22 @@ import immersive_aircraft.entity.weapons.RotaryCannon;
 import immersive_aircraft.entity.weapons.Weapon;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 public class WeaponRegistry {
     public static final Map<ResourceLocation, WeaponConstructor> REGISTRY = new HashMap<>();
 
+    // registry keyed by item, resolved on first use once all items are registered
+    private static volatile Map<Item, WeaponConstructor> resolved;
+
     public static void register(ResourceLocation id, WeaponConstructor constructor) {
         REGISTRY.put(id, constructor);
+        resolved = null;
     }
 
     static {
@@ -27,7 +33,17 @@ public class WeaponRegistry {
     }
 
     public static WeaponConstructor get(ItemStack weapon) {
-        return REGISTRY.get(Registry.ITEM.getKey(weapon.getItem()));
+        Map<Item, WeaponConstructor> resolved = WeaponRegistry.resolved;
+        if (resolved == null) {
+            resolved = new IdentityHashMap<>();
+            for (Map.Entry<ResourceLocation, WeaponConstructor> entry : REGISTRY.entrySet()) {
+                if (Registry.ITEM.containsKey(entry.getKey())) {
+                    resolved.put(Registry.ITEM.get(entry.getKey()), entry.getValue());
+                }
+            }
+            WeaponRegistry.resolved = resolved;
+        }
+        return resolved.get(weapon.getItem());
     }
 
     public interface WeaponConstructor {
@@ -5,16 +5,21 @@ import immersive_aircraft.client.render.entity.weaponRenderer.WeaponRenderer;
 import immersive_aircraft.entity.weapons.Weapon;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Item;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 public class WeaponRendererRegistry {
     public static final Map<ResourceLocation, WeaponRenderer<? extends Weapon>> REGISTRY = new HashMap<>();
 
+    // registry keyed by item, resolved on first use once all items are registered
+    private static volatile Map<Item, WeaponRenderer<? extends Weapon>> resolved;
+
     public static void register(ResourceLocation id, WeaponRenderer<? extends Weapon> renderer) {
         REGISTRY.put(id, renderer);
+        resolved = null;
     }
 
     static {
@@ -26,7 +31,18 @@ public class WeaponRendererRegistry {
     }
 
     public static <W extends Weapon> WeaponRenderer<W> get(W weapon) {
+        Map<Item, WeaponRenderer<? extends Weapon>> resolved = WeaponRendererRegistry.resolved;
+        if (resolved == null) {
+            resolved = new IdentityHashMap<>();
+            for (Map.Entry<ResourceLocation, WeaponRenderer<? extends Weapon>> entry : REGISTRY.entrySet()) {
+                if (Registry.ITEM.containsKey(entry.getKey())) {
+                    resolved.put(Registry.ITEM.get(entry.getKey()), entry.getValue());
+                }
+            }
+            WeaponRendererRegistry.resolved = resolved;
+        }
+
         //noinspection unchecked
-        return (WeaponRenderer<W>) REGISTRY.get(Registry.ITEM.getKey(weapon.getStack().getItem()));
+        return (WeaponRenderer<W>) resolved.get(weapon.getStack().getItem());
     }
 }
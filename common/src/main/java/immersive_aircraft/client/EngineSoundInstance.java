@@ -0,0 +1,70 @@
+package immersive_aircraft.client;
+
+import immersive_aircraft.entity.EngineAircraft;
+import net.minecraft.client.resources.sounds.AbstractTickableSoundInstance;
+import net.minecraft.client.resources.sounds.SoundInstance;
+
+/**
+ * A looping engine sound following a single aircraft, its volume and pitch follow the engine power.
+ */
+public class EngineSoundInstance extends AbstractTickableSoundInstance {
+    private final EngineAircraft aircraft;
+    private boolean audible = true;
+    private boolean started;
+    private int waiting;
+
+    public EngineSoundInstance(EngineAircraft aircraft) {
+        super(aircraft.getEngineSound(), aircraft.getSoundSource(), SoundInstance.createUnseededRandom());
+        this.aircraft = aircraft;
+        this.looping = true;
+        this.delay = 0;
+        update();
+    }
+
+    public EngineAircraft getAircraft() {
+        return aircraft;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public void markStarted() {
+        started = true;
+    }
+
+    /**
+     * Counts the ticks this sound has been waiting to be accepted by the sound engine
+     */
+    public int waitForRetry() {
+        return ++waiting;
+    }
+
+    public void release() {
+        audible = false;
+    }
+
+    @Override
+    public void tick() {
+        if (!audible || aircraft.isRemoved()) {
+            stop();
+        } else {
+            update();
+        }
+    }
+
+    private void update() {
+        x = aircraft.getX();
+        y = aircraft.getY();
+        z = aircraft.getZ();
+
+        float power = aircraft.getEnginePower();
+        volume = Math.min(1.0f, 0.25f + aircraft.engineSpinUpStrength) * Math.min(1.0f, power * 2.0f);
+        pitch = (0.75f + power * 0.25f) * aircraft.getEnginePitch();
+
+        // sputter when running out of fuel
+        if (aircraft.isFuelLow() && random.nextInt(3) == 0) {
+            volume *= 0.25f;
+        }
+    }
+}
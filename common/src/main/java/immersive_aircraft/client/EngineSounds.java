@@ -0,0 +1,87 @@
+package immersive_aircraft.client;
+
+import immersive_aircraft.config.Config;
+import immersive_aircraft.entity.EngineAircraft;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.sounds.SoundManager;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one looping engine sound per running aircraft, but only for the nearest few.
+ */
+public class EngineSounds {
+    private static final float MIN_POWER = 0.01f;
+
+    // how long to wait before offering a sound the engine did not accept again
+    private static final int RETRY_TICKS = 40;
+
+    private static final Map<EngineAircraft, EngineSoundInstance> instances = new IdentityHashMap<>();
+    private static final List<EngineAircraft> candidates = new ArrayList<>();
+
+    public static void tick() {
+        Minecraft client = Minecraft.getInstance();
+        ClientLevel level = client.level;
+        SoundManager soundManager = client.getSoundManager();
+
+        // forget instances the sound engine is done with, and retry refused ones (e.g. muted or out of channels) only now and then
+        instances.values().removeIf(instance -> {
+            if (instance.isStopped()) {
+                return true;
+            } else if (soundManager.isActive(instance)) {
+                instance.markStarted();
+                return false;
+            } else {
+                return instance.isStarted() || instance.waitForRetry() > RETRY_TICKS;
+            }
+        });
+
+        if (level == null) {
+            instances.values().forEach(EngineSoundInstance::release);
+            instances.clear();
+            return;
+        }
+
+        // collect running engines, nearest first
+        Vec3 camera = client.gameRenderer.getMainCamera().getPosition();
+        for (Entity entity : level.entitiesForRendering()) {
+            if (entity instanceof EngineAircraft aircraft && aircraft.getEnginePower() > MIN_POWER) {
+                candidates.add(aircraft);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(a -> a.distanceToSqr(camera)));
+
+        int voices = Math.min(candidates.size(), Config.getInstance().engineSoundVoices);
+
+        // release everything no longer among the nearest
+        Iterator<EngineSoundInstance> iterator = instances.values().iterator();
+        while (iterator.hasNext()) {
+            EngineSoundInstance instance = iterator.next();
+            int index = candidates.indexOf(instance.getAircraft());
+            if (index < 0 || index >= voices) {
+                instance.release();
+                iterator.remove();
+            }
+        }
+
+        // and start the missing ones
+        for (int i = 0; i < voices; i++) {
+            EngineAircraft aircraft = candidates.get(i);
+            if (!instances.containsKey(aircraft)) {
+                EngineSoundInstance instance = new EngineSoundInstance(aircraft);
+                instances.put(aircraft, instance);
+                soundManager.play(instance);
+            }
+        }
+
+        candidates.clear();
+    }
+}
@@ -6,8 +6,6 @@ import com.mojang.datafixers.util.Pair;
 import com.mojang.math.Matrix3f;
 import com.mojang.math.Matrix4f;
 import immersive_aircraft.resources.ObjectLoader;
-import immersive_aircraft.util.obj.Face;
-import immersive_aircraft.util.obj.FaceVertex;
 import immersive_aircraft.util.obj.Mesh;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
@@ -24,7 +22,7 @@ import java.util.List;
 
 public interface MeshRenderer {
     static Mesh getFaces(ResourceLocation id, String object) {
-        return ObjectLoader.objects.get(id).get(object);
+        return ObjectLoader.getMesh(id, object);
     }
 
     static void renderObject(Mesh mesh, PoseStack matrixStack, VertexConsumer vertexConsumer, int light) {
@@ -33,21 +31,21 @@ public interface MeshRenderer {
 
     static void renderObject(Mesh mesh, PoseStack matrixStack, VertexConsumer vertexConsumer, int light, float r, float g, float b, float a) {
         PoseStack.Pose entry = matrixStack.last();
-        Matrix4f positionMatrix = entry.pose();
-        Matrix3f normalMatrix = entry.normal();
-        for (Face face : mesh.faces) {
-            if (face.vertices.size() == 4) {
-                for (FaceVertex v : face.vertices) {
-                    vertexConsumer
-                            .vertex(positionMatrix, v.v.x, v.v.y, v.v.z)
-                            .color(r, g, b, a)
-                            .uv(v.t.u, v.t.v)
-                            .overlayCoords(OverlayTexture.NO_OVERLAY)
-                            .uv2(light)
-                            .normal(normalMatrix, v.n.x, v.n.y, v.n.z)
-                            .endVertex();
-                }
-            }
+        renderObject(mesh, entry.pose(), entry.normal(), vertexConsumer, light, r, g, b, a);
+    }
+
+    static void renderObject(Mesh mesh, Matrix4f positionMatrix, Matrix3f normalMatrix, VertexConsumer vertexConsumer, int light, float r, float g, float b, float a) {
+        float[] vertices = mesh.vertices;
+        for (int index : mesh.quads) {
+            int v = index * Mesh.STRIDE;
+            vertexConsumer
+                    .vertex(positionMatrix, vertices[v], vertices[v + 1], vertices[v + 2])
+                    .color(r, g, b, a)
+                    .uv(vertices[v + Mesh.TEXTURE], vertices[v + Mesh.TEXTURE + 1])
+                    .overlayCoords(OverlayTexture.NO_OVERLAY)
+                    .uv2(light)
+                    .normal(normalMatrix, vertices[v + Mesh.NORMAL], vertices[v + Mesh.NORMAL + 1], vertices[v + Mesh.NORMAL + 2])
+                    .endVertex();
         }
     }
 
@@ -55,22 +53,24 @@ public interface MeshRenderer {
         PoseStack.Pose entry = matrixStack.last();
         Matrix4f positionMatrix = entry.pose();
         Matrix3f normalMatrix = entry.normal();
-        for (Face face : mesh.faces) {
-            if (face.vertices.size() == 4) {
-                for (FaceVertex v : face.vertices) {
-                    double angle = v.v.x + v.v.z + v.v.y * 0.25 + time * 0.25;
-                    double scale = 0.05;
-                    float x = (float) (v.v.x + (Math.cos(angle) + Math.cos(angle * 1.7)) * scale * v.c.r);
-                    float z = (float) (v.v.z + (Math.sin(angle) + Math.sin(angle * 1.7)) * scale * v.c.r);
-                    vertexConsumer
-                            .vertex(positionMatrix, x, v.v.y, z)
-                            .color(r, g, b, a).uv(v.t.u, v.t.v)
-                            .overlayCoords(OverlayTexture.NO_OVERLAY)
-                            .uv2(light)
-                            .normal(normalMatrix, v.n.x, v.n.y, v.n.z)
-                            .endVertex();
-                }
-            }
+        float[] vertices = mesh.vertices;
+        for (int index : mesh.quads) {
+            int v = index * Mesh.STRIDE;
+            float vx = vertices[v];
+            float vy = vertices[v + 1];
+            float vz = vertices[v + 2];
+            float weight = vertices[v + Mesh.COLOR];
+            double angle = vx + vz + vy * 0.25 + time * 0.25;
+            double scale = 0.05;
+            float x = (float) (vx + (Math.cos(angle) + Math.cos(angle * 1.7)) * scale * weight);
+            float z = (float) (vz + (Math.sin(angle) + Math.sin(angle * 1.7)) * scale * weight);
+            vertexConsumer
+                    .vertex(positionMatrix, x, vy, z)
+                    .color(r, g, b, a).uv(vertices[v + Mesh.TEXTURE], vertices[v + Mesh.TEXTURE + 1])
+                    .overlayCoords(OverlayTexture.NO_OVERLAY)
+                    .uv2(light)
+                    .normal(normalMatrix, vertices[v + Mesh.NORMAL], vertices[v + Mesh.NORMAL + 1], vertices[v + Mesh.NORMAL + 2])
+                    .endVertex();
         }
     }
 
@@ -86,19 +86,17 @@ public interface MeshRenderer {
                 PoseStack.Pose entry = matrixStack.last();
                 Matrix4f positionMatrix = entry.pose();
                 Matrix3f normalMatrix = entry.normal();
-                for (Face face : mesh.faces) {
-                    if (face.vertices.size() == 4) {
-                        for (FaceVertex v : face.vertices) {
-                            vertexConsumer
-                                    .vertex(positionMatrix, v.v.x, v.v.y, v.v.z)
-                                    .color(fs[0], fs[1], fs[2], 1.0f)
-                                    .uv(v.t.u * (sprite.getU1() - sprite.getU0()) + sprite.getU0(), v.t.v * (sprite.getV1() - sprite.getV0()) + sprite.getV0())
-                                    .overlayCoords(OverlayTexture.NO_OVERLAY)
-                                    .uv2(light)
-                                    .normal(normalMatrix, v.n.x, v.n.y, v.n.z)
-                                    .endVertex();
-                        }
-                    }
+                float[] vertices = mesh.vertices;
+                for (int index : mesh.quads) {
+                    int v = index * Mesh.STRIDE;
+                    vertexConsumer
+                            .vertex(positionMatrix, vertices[v], vertices[v + 1], vertices[v + 2])
+                            .color(fs[0], fs[1], fs[2], 1.0f)
+                            .uv(vertices[v + Mesh.TEXTURE] * (sprite.getU1() - sprite.getU0()) + sprite.getU0(), vertices[v + Mesh.TEXTURE + 1] * (sprite.getV1() - sprite.getV0()) + sprite.getV0())
+                            .overlayCoords(OverlayTexture.NO_OVERLAY)
+                            .uv2(light)
+                            .normal(normalMatrix, vertices[v + Mesh.NORMAL], vertices[v + Mesh.NORMAL + 1], vertices[v + Mesh.NORMAL + 2])
+                            .endVertex();
                 }
             });
         }
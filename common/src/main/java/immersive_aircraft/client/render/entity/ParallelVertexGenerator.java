@@ -0,0 +1,178 @@
+package immersive_aircraft.client.render.entity;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.math.Matrix3f;
+import com.mojang.math.Matrix4f;
+import immersive_aircraft.Main;
+import immersive_aircraft.client.render.entity.renderer.AircraftEntityRenderer;
+import immersive_aircraft.config.Config;
+import immersive_aircraft.entity.AircraftEntity;
+import immersive_aircraft.util.obj.Mesh;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.entity.EntityRenderDispatcher;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Optionally generates the vertices of all visible aircraft in parallel, once per frame.
+ * The first aircraft rendered in a frame resolves render type, mesh and pose of every default part of every visible aircraft
+ * on the render thread, fans the vertex transformation out to the common fork join pool and waits for it.
+ * Every aircraft then only copies its recorded vertices into the real buffers.
+ * Custom parts, weapons, trails and name tags stay on the render thread, an aircraft whose job failed is rendered serially.
+ */
+public class ParallelVertexGenerator {
+    private static final Map<AircraftEntity, RecordingBufferSource> recordings = new IdentityHashMap<>();
+    private static final List<RecordingBufferSource> pool = new ArrayList<>();
+    private static final List<Callable<RecordingBufferSource>> jobs = new ArrayList<>();
+    private static final List<AircraftEntity> jobAircraft = new ArrayList<>();
+
+    private static Frustum frustum;
+    private static boolean prepared;
+
+    public static boolean isEnabled() {
+        return Config.getInstance().parallelVertexGeneration;
+    }
+
+    /**
+     * Called once per frame before any entity renders
+     */
+    public static void beginFrame() {
+        if (!recordings.isEmpty()) {
+            for (RecordingBufferSource recording : recordings.values()) {
+                recording.reset();
+                pool.add(recording);
+            }
+            recordings.clear();
+        }
+        frustum = null;
+        prepared = false;
+    }
+
+    public static void setFrustum(Frustum frustum) {
+        ParallelVertexGenerator.frustum = frustum;
+    }
+
+    /**
+     * Generates the vertices of all visible aircraft, unless already done this frame.
+     *
+     * @param first the aircraft currently rendered, its pose is the reference for all others
+     * @param pose  the pose the dispatcher prepared for the first aircraft
+     */
+    public static void prepare(AircraftEntity first, PoseStack.Pose pose, float tickDelta, EntityRenderDispatcher dispatcher) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (prepared || frustum == null || level == null) {
+            return;
+        }
+        prepared = true;
+
+        // The dispatcher only translates the view pose, so other aircraft are just offset from the first one
+        double firstX = Mth.lerp(tickDelta, first.xOld, first.getX());
+        double firstY = Mth.lerp(tickDelta, first.yOld, first.getY());
+        double firstZ = Mth.lerp(tickDelta, first.zOld, first.getZ());
+        Vec3 camera = dispatcher.camera.getPosition();
+
+        for (Entity entity : level.entitiesForRendering()) {
+            if (!(entity instanceof AircraftEntity aircraft) || !dispatcher.shouldRender(aircraft, frustum, camera.x, camera.y, camera.z)) {
+                continue;
+            }
+
+            EntityRenderer<? super AircraftEntity> renderer = dispatcher.getRenderer(aircraft);
+            if (!(renderer instanceof AircraftEntityRenderer)) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            AircraftEntityRenderer<AircraftEntity> aircraftRenderer = (AircraftEntityRenderer<AircraftEntity>) renderer;
+
+            // Capture everything touching the level on the render thread
+            PoseStack matrixStack = new PoseStack();
+            matrixStack.last().pose().load(pose.pose());
+            matrixStack.last().normal().load(pose.normal());
+            matrixStack.translate(
+                    Mth.lerp(tickDelta, aircraft.xOld, aircraft.getX()) - firstX,
+                    Mth.lerp(tickDelta, aircraft.yOld, aircraft.getY()) - firstY,
+                    Mth.lerp(tickDelta, aircraft.zOld, aircraft.getZ()) - firstZ
+            );
+            float yaw = Mth.lerp(tickDelta, aircraft.yRotO, aircraft.getYRot());
+            int light = dispatcher.getPackedLightCoords(aircraft, tickDelta);
+
+            Capture capture = new Capture();
+            aircraftRenderer.captureModel(aircraft, yaw, tickDelta, matrixStack, capture);
+
+            // Workers only see the capture and their own recording
+            RecordingBufferSource recording = pool.isEmpty() ? new RecordingBufferSource() : pool.remove(pool.size() - 1);
+            jobs.add(() -> {
+                capture.render(recording, light);
+                return recording;
+            });
+            jobAircraft.add(aircraft);
+        }
+
+        try {
+            List<Future<RecordingBufferSource>> futures = ForkJoinPool.commonPool().invokeAll(jobs);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    recordings.put(jobAircraft.get(i), futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Main.LOGGER.warn("Failed to generate vertices of {}, rendering it serially: {}", jobAircraft.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            // Jobs may still be running, drop their recordings and render everything serially
+            recordings.clear();
+            Thread.currentThread().interrupt();
+        } finally {
+            jobs.clear();
+            jobAircraft.clear();
+        }
+    }
+
+    /**
+     * Copies the recorded vertices of an aircraft, returns false if it has not been recorded this frame
+     */
+    public static boolean replay(AircraftEntity aircraft, MultiBufferSource target) {
+        RecordingBufferSource recording = recordings.get(aircraft);
+        if (recording == null) {
+            return false;
+        }
+        recording.replay(target);
+        return true;
+    }
+
+    /**
+     * The default parts of an aircraft, resolved on the render thread. Workers only read it.
+     */
+    public static class Capture {
+        private final List<RenderType> types = new ArrayList<>();
+        private final List<Mesh> meshes = new ArrayList<>();
+        private final List<Matrix4f> poses = new ArrayList<>();
+        private final List<Matrix3f> normals = new ArrayList<>();
+
+        public void add(RenderType type, Mesh mesh, PoseStack.Pose pose) {
+            types.add(type);
+            meshes.add(mesh);
+            poses.add(pose.pose().copy());
+            normals.add(pose.normal().copy());
+        }
+
+        void render(MultiBufferSource target, int light) {
+            for (int i = 0; i < types.size(); i++) {
+                MeshRenderer.renderObject(meshes.get(i), poses.get(i), normals.get(i), target.getBuffer(types.get(i)), light, 1.0f, 1.0f, 1.0f, 1.0f);
+            }
+        }
+    }
+}
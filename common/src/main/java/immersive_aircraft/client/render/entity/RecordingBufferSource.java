@@ -0,0 +1,62 @@
+package immersive_aircraft.client.render.entity;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A buffer source handing out recording consumers, one per render type, in the order they were first requested.
+ * Consumers are kept across resets to reuse their arrays.
+ */
+public class RecordingBufferSource implements MultiBufferSource {
+    private final List<RenderType> types = new ArrayList<>();
+    private final List<RecordingVertexConsumer> consumers = new ArrayList<>();
+    private int used;
+
+    @Override
+    public VertexConsumer getBuffer(RenderType renderType) {
+        for (int i = 0; i < used; i++) {
+            if (types.get(i) == renderType) {
+                return consumers.get(i);
+            }
+        }
+
+        if (used == consumers.size()) {
+            types.add(renderType);
+            consumers.add(new RecordingVertexConsumer());
+        } else {
+            types.set(used, renderType);
+        }
+        return consumers.get(used++);
+    }
+
+    public int getVertexCount() {
+        int count = 0;
+        for (int i = 0; i < used; i++) {
+            count += consumers.get(i).getVertexCount();
+        }
+        return count;
+    }
+
+    public void reset() {
+        for (int i = 0; i < used; i++) {
+            consumers.get(i).reset();
+        }
+        used = 0;
+    }
+
+    /**
+     * Copies all recorded vertices into the buffers of the given source
+     */
+    public void replay(MultiBufferSource target) {
+        for (int i = 0; i < used; i++) {
+            RecordingVertexConsumer consumer = consumers.get(i);
+            if (consumer.getVertexCount() > 0) {
+                consumer.replay(target.getBuffer(types.get(i)));
+            }
+        }
+    }
+}
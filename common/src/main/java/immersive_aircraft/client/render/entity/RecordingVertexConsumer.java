@@ -0,0 +1,145 @@
+package immersive_aircraft.client.render.entity;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+
+import java.util.Arrays;
+
+/**
+ * A vertex consumer storing fully transformed vertices in flat arrays, to be copied into a real consumer later.
+ * Not thread safe, but independent instances may be filled from different threads.
+ */
+public class RecordingVertexConsumer implements VertexConsumer {
+    // x, y, z, u, v, nx, ny, nz
+    private static final int FLOATS = 8;
+
+    // color, overlay, light
+    private static final int INTS = 3;
+
+    private float[] floats = new float[FLOATS * 64];
+    private int[] ints = new int[INTS * 64];
+    private int vertices;
+
+    private float x, y, z, u, v, nx, ny, nz;
+    private int color = 0xFFFFFFFF;
+    private int overlay, light;
+
+    private boolean hasDefaultColor;
+    private int defaultColor;
+
+    public int getVertexCount() {
+        return vertices;
+    }
+
+    public void reset() {
+        vertices = 0;
+        hasDefaultColor = false;
+    }
+
+    /**
+     * Copies all recorded vertices into the given consumer
+     */
+    public void replay(VertexConsumer target) {
+        for (int i = 0; i < vertices; i++) {
+            int f = i * FLOATS;
+            int n = i * INTS;
+            int c = ints[n];
+            target.vertex(floats[f], floats[f + 1], floats[f + 2],
+                    (c >>> 24) / 255.0f, (c >> 16 & 255) / 255.0f, (c >> 8 & 255) / 255.0f, (c & 255) / 255.0f,
+                    floats[f + 3], floats[f + 4], ints[n + 1], ints[n + 2],
+                    floats[f + 5], floats[f + 6], floats[f + 7]);
+        }
+    }
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+        this.x = (float) x;
+        this.y = (float) y;
+        this.z = (float) z;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer color(int r, int g, int b, int a) {
+        color = r << 24 | g << 16 | b << 8 | a;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv(float u, float v) {
+        this.u = u;
+        this.v = v;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer overlayCoords(int u, int v) {
+        overlay = u & 0xFFFF | v << 16;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer uv2(int u, int v) {
+        light = u & 0xFFFF | v << 16;
+        return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+        nx = x;
+        ny = y;
+        nz = z;
+        return this;
+    }
+
+    @Override
+    public void vertex(float x, float y, float z, float red, float green, float blue, float alpha, float u, float v, int overlay, int light, float normalX, float normalY, float normalZ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.color = (int) (red * 255.0f) << 24 | (int) (green * 255.0f) << 16 | (int) (blue * 255.0f) << 8 | (int) (alpha * 255.0f);
+        this.u = u;
+        this.v = v;
+        this.overlay = overlay;
+        this.light = light;
+        this.nx = normalX;
+        this.ny = normalY;
+        this.nz = normalZ;
+        endVertex();
+    }
+
+    @Override
+    public void endVertex() {
+        if (vertices * FLOATS == floats.length) {
+            floats = Arrays.copyOf(floats, floats.length * 2);
+            ints = Arrays.copyOf(ints, ints.length * 2);
+        }
+
+        int f = vertices * FLOATS;
+        floats[f] = x;
+        floats[f + 1] = y;
+        floats[f + 2] = z;
+        floats[f + 3] = u;
+        floats[f + 4] = v;
+        floats[f + 5] = nx;
+        floats[f + 6] = ny;
+        floats[f + 7] = nz;
+
+        int n = vertices * INTS;
+        ints[n] = hasDefaultColor ? defaultColor : color;
+        ints[n + 1] = overlay;
+        ints[n + 2] = light;
+
+        vertices++;
+    }
+
+    @Override
+    public void defaultColor(int r, int g, int b, int a) {
+        hasDefaultColor = true;
+        defaultColor = r << 24 | g << 16 | b << 8 | a;
+    }
+
+    @Override
+    public void unsetDefaultColor() {
+        hasDefaultColor = false;
+    }
+}
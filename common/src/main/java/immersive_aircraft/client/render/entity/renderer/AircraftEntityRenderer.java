@@ -5,8 +5,10 @@ import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.mojang.math.Vector3f;
 import immersive_aircraft.WeaponRendererRegistry;
 import immersive_aircraft.client.render.entity.MeshRenderer;
+import immersive_aircraft.client.render.entity.ParallelVertexGenerator;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.weapons.Weapon;
+import immersive_aircraft.resources.MeshHandle;
 import immersive_aircraft.util.obj.Mesh;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
@@ -17,8 +19,9 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.phys.AABB;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends EntityRenderer<T> {
     protected class Object {
@@ -31,31 +34,36 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
         }
 
         public Object(ResourceLocation id, String object) {
-            this.id = id;
-            this.object = object;
+            this.mesh = new MeshHandle(id, object);
         }
 
-        private final ResourceLocation id;
-        private final String object;
+        private final MeshHandle mesh;
+
+        private boolean cull = true;
+        private ResourceLocation texture = null;
+        private boolean customRenderConsumer = false;
 
         private AnimationConsumer<T> animationConsumer = null;
         private RenderConsumer<T> renderConsumer = (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
             //Get vertex consumer
-            ResourceLocation identifier = getTextureLocation(entity);
-            VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutout(identifier));
+            VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(getRenderType(cull, getTexture(entity)));
             MeshRenderer.renderObject(getMesh(), matrixStack, vertexConsumer, light);
         };
 
         public Mesh getMesh() {
-            Mesh mesh = MeshRenderer.getFaces(id, object);
+            Mesh mesh = this.mesh.get();
             if (mesh == null) {
-                throw new RuntimeException(String.format("Mesh %s in %s does not exist!", id, object));
+                throw new RuntimeException(String.format("Mesh %s in %s does not exist!", this.mesh.getId(), this.mesh.getObject()));
             }
             return mesh;
         }
 
+        public MeshHandle getMeshHandle() {
+            return mesh;
+        }
+
         public ResourceLocation getId() {
-            return id;
+            return mesh.getId();
         }
 
         public AnimationConsumer<T> getAnimationConsumer() {
@@ -67,12 +75,49 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
             return this;
         }
 
+        public void pushAnimation(T entity, float yaw, float tickDelta, PoseStack matrixStack) {
+            if (animationConsumer != null) {
+                matrixStack.pushPose();
+                animationConsumer.run(entity, yaw, tickDelta, matrixStack);
+            }
+        }
+
+        public void popAnimation(PoseStack matrixStack) {
+            if (animationConsumer != null) {
+                matrixStack.popPose();
+            }
+        }
+
         public RenderConsumer<T> getRenderConsumer() {
             return renderConsumer;
         }
 
         public Object setRenderConsumer(RenderConsumer<T> renderConsumer) {
             this.renderConsumer = renderConsumer;
+            this.customRenderConsumer = true;
+            return this;
+        }
+
+        public boolean hasCustomRenderConsumer() {
+            return customRenderConsumer;
+        }
+
+        public boolean isCull() {
+            return cull;
+        }
+
+        public Object setCull(boolean cull) {
+            this.cull = cull;
+            return this;
+        }
+
+        public ResourceLocation getTexture(T entity) {
+            return texture == null ? getTextureLocation(entity) : texture;
+        }
+
+        // Overrides the entities texture
+        public Object setTexture(ResourceLocation texture) {
+            this.texture = texture;
             return this;
         }
     }
@@ -82,18 +127,121 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
             // nop
         }
 
-        private final List<Object> objects = new LinkedList<>();
+        private final List<Object> objects = new ArrayList<>();
+
+        private RenderPlan plan;
 
         public Model add(Object o) {
             objects.add(o);
+            plan = null;
             return this;
         }
 
         public List<Object> getObjects() {
             return objects;
         }
+
+        public RenderPlan getPlan() {
+            if (plan == null) {
+                plan = new RenderPlan(objects);
+            }
+            return plan;
+        }
     }
 
+    /**
+     * A model compiled into a flat part list, where default parts are grouped by render type and texture.
+     * Each group fetches its vertex consumer once, parts with custom render consumers run last.
+     */
+    protected class RenderPlan {
+        private final Object[] parts;
+        private final int[] groupEnds;
+        private final int customStart;
+
+        @SuppressWarnings("unchecked")
+        private RenderPlan(List<Object> objects) {
+            parts = (Object[]) new AircraftEntityRenderer.Object[objects.size()];
+
+            // Group default parts by culling and texture, keep the original order within a group
+            List<Object> grouped = new ArrayList<>(objects.size());
+            List<Integer> ends = new ArrayList<>();
+            for (Object object : objects) {
+                if (object.hasCustomRenderConsumer() || grouped.contains(object)) {
+                    continue;
+                }
+                for (Object other : objects) {
+                    if (!other.hasCustomRenderConsumer() && other.cull == object.cull && Objects.equals(other.texture, object.texture)) {
+                        grouped.add(other);
+                    }
+                }
+                ends.add(grouped.size());
+            }
+            customStart = grouped.size();
+            for (Object object : objects) {
+                if (object.hasCustomRenderConsumer()) {
+                    grouped.add(object);
+                }
+            }
+
+            grouped.toArray(parts);
+            groupEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        public void render(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+            renderDefault(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+            renderCustom(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+        }
+
+        public void renderDefault(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+            int start = 0;
+            for (int end : groupEnds) {
+                Object first = parts[start];
+                VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(getRenderType(first.cull, first.getTexture(entity)));
+                for (int i = start; i < end; i++) {
+                    Object object = parts[i];
+                    object.pushAnimation(entity, yaw, tickDelta, matrixStack);
+                    MeshRenderer.renderObject(object.getMesh(), matrixStack, vertexConsumer, light);
+                    object.popAnimation(matrixStack);
+                }
+                start = end;
+            }
+        }
+
+        /**
+         * Resolves render type, mesh and pose of every default part, on the render thread
+         */
+        public void capture(T entity, float yaw, float tickDelta, PoseStack matrixStack, ParallelVertexGenerator.Capture capture) {
+            int start = 0;
+            for (int end : groupEnds) {
+                Object first = parts[start];
+                RenderType renderType = getRenderType(first.cull, first.getTexture(entity));
+                for (int i = start; i < end; i++) {
+                    Object object = parts[i];
+                    object.pushAnimation(entity, yaw, tickDelta, matrixStack);
+                    capture.add(renderType, object.getMesh(), matrixStack.last());
+                    object.popAnimation(matrixStack);
+                }
+                start = end;
+            }
+        }
+
+        public void renderCustom(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+            for (int i = customStart; i < parts.length; i++) {
+                Object object = parts[i];
+                object.pushAnimation(entity, yaw, tickDelta, matrixStack);
+                object.getRenderConsumer().run(vertexConsumerProvider, entity, matrixStack, light, tickDelta);
+                object.popAnimation(matrixStack);
+            }
+        }
+    }
+
+    private static RenderType getRenderType(boolean cull, ResourceLocation texture) {
+        return cull ? RenderType.entityCutout(texture) : RenderType.entityCutoutNoCull(texture);
+    }
+
+    // render thread only
+    private final Vector3f windEffect = new Vector3f();
+
     public AircraftEntityRenderer(EntityRendererProvider.Context context) {
         super(context);
     }
@@ -105,8 +253,54 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
 
     @Override
     public void render(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+        if (ParallelVertexGenerator.isEnabled()) {
+            ParallelVertexGenerator.prepare(entity, matrixStack.last(), tickDelta, entityRenderDispatcher);
+            if (ParallelVertexGenerator.replay(entity, vertexConsumerProvider)) {
+                renderCustomModel(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+            } else {
+                renderModel(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+            }
+        } else {
+            renderModel(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+        }
+
+        //Render trails
         PoseStack.Pose peek = matrixStack.last();
+        entity.getTrails().forEach(t -> TrailRenderer.render(t, vertexConsumerProvider, peek));
+
+        super.render(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+    }
 
+    /**
+     * Renders parts and weapons
+     */
+    public void renderModel(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+        pushModelTransform(entity, yaw, tickDelta, matrixStack);
+        getModel(entity).getPlan().render(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+        renderWeapons(entity, tickDelta, matrixStack, vertexConsumerProvider, light);
+        matrixStack.popPose();
+    }
+
+    /**
+     * Renders parts with custom render consumers and weapons, the default parts have been generated in parallel
+     */
+    private void renderCustomModel(T entity, float yaw, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+        pushModelTransform(entity, yaw, tickDelta, matrixStack);
+        getModel(entity).getPlan().renderCustom(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
+        renderWeapons(entity, tickDelta, matrixStack, vertexConsumerProvider, light);
+        matrixStack.popPose();
+    }
+
+    /**
+     * Captures the default parts for parallel vertex generation, on the render thread
+     */
+    public void captureModel(T entity, float yaw, float tickDelta, PoseStack matrixStack, ParallelVertexGenerator.Capture capture) {
+        pushModelTransform(entity, yaw, tickDelta, matrixStack);
+        getModel(entity).getPlan().capture(entity, yaw, tickDelta, matrixStack, capture);
+        matrixStack.popPose();
+    }
+
+    private void pushModelTransform(T entity, float yaw, float tickDelta, PoseStack matrixStack) {
         matrixStack.pushPose();
 
         //Wobble
@@ -119,40 +313,21 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
             matrixStack.mulPose(Vector3f.XP.rotationDegrees(Mth.sin(h) * h * j / 10.0f * (float) entity.getDamageWobbleSide()));
         }
 
-        Vector3f effect = entity.isOnGround() ? Vector3f.ZERO : entity.getWindEffect();
+        Vector3f effect = entity.isOnGround() ? Vector3f.ZERO : entity.getWindEffect(tickDelta, windEffect);
         matrixStack.mulPose(Vector3f.YP.rotationDegrees(-yaw));
         matrixStack.mulPose(Vector3f.XP.rotationDegrees(entity.getViewXRot(tickDelta) + effect.z()));
         matrixStack.mulPose(Vector3f.ZP.rotationDegrees(entity.getRoll(tickDelta) + effect.x()));
 
         Vector3f pivot = getPivot(entity);
         matrixStack.translate(pivot.x(), pivot.y(), pivot.z());
+    }
 
-        //Render parts
-        Model model = getModel(entity);
-        for (Object object : model.getObjects()) {
-            if (object.getAnimationConsumer() != null) {
-                matrixStack.pushPose();
-                object.getAnimationConsumer().run(entity, yaw, tickDelta, matrixStack);
-            }
-            object.getRenderConsumer().run(vertexConsumerProvider, entity, matrixStack, light, tickDelta);
-            if (object.getAnimationConsumer() != null) {
-                matrixStack.popPose();
-            }
-        }
-
-        //Render weapons
-        for (List<Weapon> weapons : entity.getWeapons().values()) {
+    private void renderWeapons(T entity, float tickDelta, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light) {
+        for (Weapon[] weapons : entity.getWeapons()) {
             for (Weapon weapon : weapons) {
                 WeaponRendererRegistry.get(weapon).render(entity, weapon, matrixStack, vertexConsumerProvider, light, tickDelta);
             }
         }
-
-        //Render trails
-        entity.getTrails().forEach(t -> TrailRenderer.render(t, vertexConsumerProvider, peek));
-
-        matrixStack.popPose();
-
-        super.render(entity, yaw, tickDelta, matrixStack, vertexConsumerProvider, light);
     }
 
     @Override
@@ -160,6 +335,7 @@ public abstract class AircraftEntityRenderer<T extends AircraftEntity> extends E
         if (!entity.shouldRender(x, y, z)) {
             return false;
         }
+        ParallelVertexGenerator.setFrustum(frustum);
         AABB box = entity.getBoundingBoxForCulling().inflate(2.5);
         return frustum.isVisible(box);
     }
@@ -8,6 +8,7 @@ import immersive_aircraft.client.render.entity.MeshRenderer;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.BiplaneEntity;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
+import immersive_aircraft.resources.MeshHandle;
 import immersive_aircraft.util.Utils;
 import immersive_aircraft.util.obj.Mesh;
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -24,6 +25,7 @@ import java.util.List;
 
 public class BiplaneEntityRenderer<T extends BiplaneEntity> extends AircraftEntityRenderer<T> {
     private static final ResourceLocation id = Main.locate("objects/biplane.obj");
+    private static final MeshHandle.Sequence banners = new MeshHandle.Sequence(id, "banner_");
 
     private final ResourceLocation texture;
 
@@ -34,12 +36,12 @@ public class BiplaneEntityRenderer<T extends BiplaneEntity> extends AircraftEnti
             .add(
                     new Object(id, "banners").setRenderConsumer(
                             (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                List<ItemStack> slots = entity.getSlots(VehicleInventoryDescription.SlotType.BANNER);
                                 int i = 0;
-                                for (ItemStack slot : slots) {
+                                for (int s = 0; s < entity.getSlotCount(VehicleInventoryDescription.SlotType.BANNER); s++) {
+                                    ItemStack slot = entity.getSlotItem(VehicleInventoryDescription.SlotType.BANNER, s);
                                     if (!slot.isEmpty() && slot.getItem() instanceof BannerItem) {
                                         List<Pair<Holder<BannerPattern>, DyeColor>> patterns = Utils.parseBannerItem(slot);
-                                        Mesh mesh = MeshRenderer.getFaces(id, "banner_" + (i++));
+                                        Mesh mesh = banners.get(i++);
                                         MeshRenderer.renderBanner(matrixStack, vertexConsumerProvider, light, mesh, true, patterns);
                                     }
                                 }
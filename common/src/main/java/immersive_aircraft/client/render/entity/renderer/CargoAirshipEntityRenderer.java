@@ -9,6 +9,7 @@ import immersive_aircraft.config.Config;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.AirshipEntity;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
+import immersive_aircraft.resources.MeshHandle;
 import immersive_aircraft.util.Utils;
 import immersive_aircraft.util.obj.Mesh;
 import net.minecraft.client.renderer.RenderType;
@@ -25,6 +26,9 @@ import java.util.List;
 
 public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends AirshipEntityRenderer<T> {
     private static final ResourceLocation id = Main.locate("objects/cargo_airship.obj");
+    private static final MeshHandle.Sequence banners = new MeshHandle.Sequence(id, "banner_");
+    private static final MeshHandle sails = new MeshHandle(id, "sails");
+    private static final MeshHandle sailsAnimated = new MeshHandle(id, "sails_animated");
 
     private final ResourceLocation texture = Main.locate("textures/entity/cargo_airship.png");
 
@@ -38,12 +42,12 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
             .add(
                     new Object(id, "banners").setRenderConsumer(
                             (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                List<ItemStack> slots = entity.getSlots(VehicleInventoryDescription.SlotType.BANNER);
                                 int i = 0;
-                                for (ItemStack slot : slots) {
+                                for (int s = 0; s < entity.getSlotCount(VehicleInventoryDescription.SlotType.BANNER); s++) {
+                                    ItemStack slot = entity.getSlotItem(VehicleInventoryDescription.SlotType.BANNER, s);
                                     if (!slot.isEmpty() && slot.getItem() instanceof BannerItem) {
                                         List<Pair<Holder<BannerPattern>, DyeColor>> patterns = Utils.parseBannerItem(slot);
-                                        Mesh mesh = MeshRenderer.getFaces(id, "banner_" + (i++));
+                                        Mesh mesh = banners.get(i++);
                                         MeshRenderer.renderBanner(matrixStack, vertexConsumerProvider, light, mesh, true, patterns);
                                     }
                                 }
@@ -57,7 +61,7 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
                                         ResourceLocation identifier = getTextureLocation(entity);
                                         VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
 
-                                        ItemStack stack = entity.getSlots(VehicleInventoryDescription.SlotType.DYE).get(0);
+                                        ItemStack stack = entity.getSlotItem(VehicleInventoryDescription.SlotType.DYE, 0);
                                         DyeColor color;
                                         if (stack.getItem() instanceof DyeItem item) {
                                             color = item.getDyeColor();
@@ -69,11 +73,11 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
                                         float b = color.getTextureDiffuseColors()[2];
 
                                         if (entity.isWithinParticleRange() && Config.getInstance().enableAnimatedSails) {
-                                            Mesh mesh = MeshRenderer.getFaces(id, "sails_animated");
+                                            Mesh mesh = sailsAnimated.get();
                                             float time = entity.getLevel().getGameTime() % 24000 + tickDelta;
                                             MeshRenderer.renderSailObject(mesh, matrixStack, vertexConsumer, light, time, r, g, b, 1.0f);
                                         } else {
-                                            Mesh mesh = MeshRenderer.getFaces(id, "sails");
+                                            Mesh mesh = sails.get();
                                             MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light, r, g, b, 1.0f);
                                         }
                                     }
@@ -98,14 +102,7 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
                                         matrixStack.translate(0.0f, -0.1875f, 0.0f);
                                     }
                             )
-                            .setRenderConsumer(
-                                    (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                        ResourceLocation identifier = getTextureLocation(entity);
-                                        VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
-                                        Mesh mesh = MeshRenderer.getFaces(id, "propeller");
-                                        MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light);
-                                    }
-                            )
+                            .setCull(false)
             )
             .add(
                     new Object(id, "small_propeller_right")
@@ -116,14 +113,7 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
                                         matrixStack.translate(1.15625, -2.34375, 0.0f);
                                     }
                             )
-                            .setRenderConsumer(
-                                    (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                        ResourceLocation identifier = getTextureLocation(entity);
-                                        VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
-                                        Mesh mesh = MeshRenderer.getFaces(id, "small_propeller_right");
-                                        MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light);
-                                    }
-                            )
+                            .setCull(false)
             )
             .add(
                     new Object(id, "small_propeller_left")
@@ -134,14 +124,7 @@ public class CargoAirshipEntityRenderer<T extends AirshipEntity> extends Airship
                                         matrixStack.translate(-1.15625, -2.34375, 0.0f);
                                     }
                             )
-                            .setRenderConsumer(
-                                    (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                        ResourceLocation identifier = getTextureLocation(entity);
-                                        VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
-                                        Mesh mesh = MeshRenderer.getFaces(id, "small_propeller_left");
-                                        MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light);
-                                    }
-                            )
+                            .setCull(false)
             );
 
     public CargoAirshipEntityRenderer(EntityRendererProvider.Context context) {
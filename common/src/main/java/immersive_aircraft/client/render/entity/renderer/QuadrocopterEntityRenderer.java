@@ -6,6 +6,7 @@ import immersive_aircraft.Main;
 import immersive_aircraft.client.render.entity.MeshRenderer;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.QuadrocopterEntity;
+import immersive_aircraft.resources.MeshHandle;
 import immersive_aircraft.util.obj.Mesh;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
@@ -16,6 +17,7 @@ import java.util.Random;
 
 public class QuadrocopterEntityRenderer<T extends QuadrocopterEntity> extends AircraftEntityRenderer<T> {
     private static final ResourceLocation id = Main.locate("objects/quadrocopter.obj");
+    private static final MeshHandle.Sequence engines = new MeshHandle.Sequence(id, "engine_");
 
     private final ResourceLocation texture = Main.locate("textures/entity/quadrocopter.png");
 
@@ -43,7 +45,7 @@ public class QuadrocopterEntityRenderer<T extends QuadrocopterEntity> extends Ai
                                     (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
                                         ResourceLocation identifier = getTextureLocation(entity);
                                         VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
-                                        Mesh mesh = MeshRenderer.getFaces(id, "engine_" + (entity.enginePower.getSmooth() > 0.01 ? entity.tickCount % 2 : 0));
+                                        Mesh mesh = engines.get(entity.enginePower.getSmooth() > 0.01 ? entity.tickCount % 2 : 0);
                                         MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light);
                                     }
                             )
@@ -59,14 +61,7 @@ public class QuadrocopterEntityRenderer<T extends QuadrocopterEntity> extends Ai
                                         matrixStack.mulPose(Vector3f.YP.rotationDegrees(entity.engineRotation.getSmooth(tickDelta) * propeller[0] * propeller[2] * 200.0f));
                                     }
                             )
-                            .setRenderConsumer(
-                                    (vertexConsumerProvider, entity, matrixStack, light, tickDelta) -> {
-                                        ResourceLocation identifier = getTextureLocation(entity);
-                                        VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutoutNoCull(identifier));
-                                        Mesh mesh = MeshRenderer.getFaces(id, "propeller");
-                                        MeshRenderer.renderObject(mesh, matrixStack, vertexConsumer, light);
-                                    }
-                            )
+                            .setCull(false)
             );
         }
     }
@@ -13,44 +13,72 @@ import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.phys.Vec3;
 
+/**
+ * Renders a trail as a single ribbon straight from the trail's ring buffer, expanding pending samples first
+ */
 public class TrailRenderer {
     private static final ResourceLocation identifier = Main.locate("textures/entity/trail.png");
+    private static final int LIGHT = 15728640;
+
+    // Only used on the render thread
+    private static final Vector3f scratch = new Vector3f();
 
     public static void render(Trail trail, MultiBufferSource vertexConsumerProvider, PoseStack.Pose matrices) {
-        if (trail.nullEntries >= trail.size || trail.entries == 0) {
+        if (trail.nullEntries >= trail.size || trail.entries < 2) {
             return;
         }
 
-        VertexConsumer lineVertexConsumer = vertexConsumerProvider.getBuffer(RenderType.beaconBeam(identifier, true));
-        int light = 15728640;
+        // Samples are only expanded into ribbon edges once actually rendered
+        trail.expand();
+
+        // No-cull render type, so both sides of the ribbon are visible without duplicated geometry
+        VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityTranslucentEmissive(identifier));
 
         Vec3 pos = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
         Matrix3f matrix = matrices.normal();
 
-        //todo a custom vertex indexing methode would be beneficial here
-        for (int i = 1; i < Math.min(trail.entries, trail.size); i++) {
-            int pre = ((i + trail.lastIndex - 1) % trail.size) * 7;
-            int index = ((i + trail.lastIndex) % trail.size) * 7;
+        // Once the ring buffer wrapped, the oldest entry is the next one to be overwritten
+        int count = Math.min(trail.entries, trail.size);
+        int oldest = trail.entries >= trail.size ? trail.lastIndex : 0;
+        float fade = 1.0f / (count - 1);
 
-            int a1 = (int) ((1.0f - ((float) i) / trail.size * 255) * trail.buffer[pre + 6]);
-            int a2 = i == (trail.size - 1) ? 0 : (int) ((1.0f - ((float) i + 1) / trail.size * 255) * trail.buffer[index + 6]);
+        // Walk the ring buffer in two contiguous spans, from the oldest to the newest entry
+        int firstSpanEnd = Math.min(trail.size, oldest + count);
+        int secondSpanEnd = count - (firstSpanEnd - oldest);
+        int previous = -1;
+        int rank = 0;
+        for (int i = oldest; i < firstSpanEnd; i++) {
+            segment(trail, vertexConsumer, matrix, pos, previous, i * 7, rank++, fade);
+            previous = i * 7;
+        }
+        for (int i = 0; i < secondSpanEnd; i++) {
+            segment(trail, vertexConsumer, matrix, pos, previous, i * 7, rank++, fade);
+            previous = i * 7;
+        }
+    }
 
-            vertex(trail, lineVertexConsumer, matrix, 0, 0, pre, pos, a1, light);
-            vertex(trail, lineVertexConsumer, matrix, 0, 1, pre + 3, pos, a1, light);
-            vertex(trail, lineVertexConsumer, matrix, 1, 1, index + 3, pos, a2, light);
-            vertex(trail, lineVertexConsumer, matrix, 1, 0, index, pos, a2, light);
+    private static void segment(Trail trail, VertexConsumer vertexConsumer, Matrix3f matrix, Vec3 pos, int pre, int index, int rank, float fade) {
+        if (pre < 0) {
+            return;
+        }
 
-            //todo the anti culling here is stupid
-            vertex(trail, lineVertexConsumer, matrix, 1, 0, index, pos, a2, light);
-            vertex(trail, lineVertexConsumer, matrix, 1, 1, index + 3, pos, a2, light);
-            vertex(trail, lineVertexConsumer, matrix, 0, 1, pre + 3, pos, a1, light);
-            vertex(trail, lineVertexConsumer, matrix, 0, 0, pre, pos, a1, light);
+        // Older entries fade out
+        float a1 = (rank - 1) * fade * trail.buffer[pre + 6];
+        float a2 = rank * fade * trail.buffer[index + 6];
+        if (a1 <= 0.0f && a2 <= 0.0f) {
+            return;
         }
+
+        vertex(trail, vertexConsumer, matrix, 0, 0, pre, pos, a1);
+        vertex(trail, vertexConsumer, matrix, 0, 1, pre + 3, pos, a1);
+        vertex(trail, vertexConsumer, matrix, 1, 1, index + 3, pos, a2);
+        vertex(trail, vertexConsumer, matrix, 1, 0, index, pos, a2);
     }
 
-    private static void vertex(Trail trail, VertexConsumer lineVertexConsumer, Matrix3f matrix, float u, float v, int index, Vec3 pos, float a, int light) {
-        Vector3f p = new Vector3f((float) (trail.buffer[index] - pos.x), (float) (trail.buffer[index + 1] - pos.y), (float) (trail.buffer[index + 2] - pos.z));
-        p.transform(matrix);
-        lineVertexConsumer.vertex(p.x(), p.y(), p.z(), trail.gray, trail.gray, trail.gray, a, u, v, OverlayTexture.NO_OVERLAY, light, 1, 0, 0);
+    private static void vertex(Trail trail, VertexConsumer vertexConsumer, Matrix3f matrix, float u, float v, int index, Vec3 pos, float a) {
+        float[] buffer = trail.buffer;
+        scratch.set((float) (buffer[index] - pos.x), (float) (buffer[index + 1] - pos.y), (float) (buffer[index + 2] - pos.z));
+        scratch.transform(matrix);
+        vertexConsumer.vertex(scratch.x(), scratch.y(), scratch.z(), trail.gray, trail.gray, trail.gray, a, u, v, OverlayTexture.NO_OVERLAY, LIGHT, 1, 0, 0);
     }
 }
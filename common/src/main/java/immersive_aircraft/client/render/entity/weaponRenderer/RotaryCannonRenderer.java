@@ -6,6 +6,7 @@ import immersive_aircraft.Main;
 import immersive_aircraft.client.render.entity.MeshRenderer;
 import immersive_aircraft.entity.AircraftEntity;
 import immersive_aircraft.entity.weapons.RotaryCannon;
+import immersive_aircraft.resources.MeshHandle;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.resources.ResourceLocation;
@@ -13,6 +14,8 @@ import net.minecraft.resources.ResourceLocation;
 public class RotaryCannonRenderer extends WeaponRenderer<RotaryCannon> {
     static final ResourceLocation ID = Main.locate("objects/rotary_cannon.obj");
     static final ResourceLocation TEXTURE = Main.locate("textures/entity/rotary_cannon.png");
+    static final MeshHandle CUBE = new MeshHandle(ID, "cube");
+    static final MeshHandle HEAD = new MeshHandle(ID, "head");
 
     @Override
     public <T extends AircraftEntity> void render(T entity, RotaryCannon weapon, PoseStack matrixStack, MultiBufferSource vertexConsumerProvider, int light, float tickDelta) {
@@ -21,12 +24,12 @@ public class RotaryCannonRenderer extends WeaponRenderer<RotaryCannon> {
 
         VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(RenderType.entityCutout(TEXTURE));
 
-        MeshRenderer.renderObject(MeshRenderer.getFaces(ID, "cube"), matrixStack, vertexConsumer, light);
+        MeshRenderer.renderObject(CUBE.get(), matrixStack, vertexConsumer, light);
 
         matrixStack.translate(0.0f, 12.5f / 16.0f, -4.0f / 16.0f);
         matrixStack.mulPose(weapon.getHeadTransform(tickDelta));
         matrixStack.translate(0.0f, -12.5f / 16.0f, 4.0f / 16.0f);
-        MeshRenderer.renderObject(MeshRenderer.getFaces(ID, "head"), matrixStack, vertexConsumer, light);
+        MeshRenderer.renderObject(HEAD.get(), matrixStack, vertexConsumer, light);
 
         matrixStack.popPose();
     }
@@ -4,15 +4,37 @@ import immersive_aircraft.config.configEntries.BooleanConfigEntry;
 import immersive_aircraft.config.configEntries.FloatConfigEntry;
 import immersive_aircraft.config.configEntries.IntegerConfigEntry;
 
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * The config is published as snapshots, which are frozen once visible through getInstance().
+ * The fields are public for reading only, edits are made on a copy() and published as a whole.
+ */
 public final class Config extends JsonConfig {
-    private static final Config INSTANCE = loadOrCreate();
+    private static volatile Config instance = loadOrCreate();
+
+    static {
+        instance.freeze();
+        ConfigWatcher.start();
+    }
 
     public static Config getInstance() {
-        return INSTANCE;
+        return instance;
+    }
+
+    public static void publish(Config config) {
+        config.freeze();
+        instance = config;
     }
 
+    // Derived tables, compiled once per snapshot
+    private transient Map<ResourceLocation, Integer> fuelTimes = Map.of();
+    private transient Set<ResourceLocation> disabledDimensions = Set.of();
 
     // Crash configs
     @BooleanConfigEntry(true)
@@ -57,6 +79,24 @@ public final class Config extends JsonConfig {
     @FloatConfigEntry(192.0f)
     public float renderDistance;
 
+    @BooleanConfigEntry(false)
+    public boolean parallelVertexGeneration = false;
+
+    @BooleanConfigEntry(false)
+    public boolean parallelPhysics = false;
+
+    @IntegerConfigEntry(value = 256, min = 0)
+    public int particleBudget = 256;
+
+    @IntegerConfigEntry(value = 8, min = 0)
+    public int engineSoundVoices = 8;
+
+    @IntegerConfigEntry(value = 60, min = 0)
+    public int meshEvictionDelay = 60;
+
+    @IntegerConfigEntry(value = 16, min = 0)
+    public int meshMemoryLimit = 16;
+
     @FloatConfigEntry(1.0f)
     public float fuelConsumption;
 
@@ -90,4 +130,57 @@ public final class Config extends JsonConfig {
             "minecraft:the_nether", true,
             "minecraft:the_end", true
     );
+
+    void compile() {
+        checkMutable();
+        if (fuelList == null) {
+            fuelList = Map.of();
+        }
+        if (validDimensions == null) {
+            validDimensions = Map.of();
+        }
+
+        // drop broken entries first, immutable copies reject null values
+        Map<String, Integer> validFuelList = new HashMap<>();
+        Map<ResourceLocation, Integer> fuelTimes = new HashMap<>();
+        fuelList.forEach((key, value) -> {
+            ResourceLocation id = key == null ? null : ResourceLocation.tryParse(key);
+            if (id == null || value == null) {
+                LOGGER.warn("Ignoring invalid fuel entry {}", key);
+            } else {
+                validFuelList.put(key, value);
+                fuelTimes.put(id, value);
+            }
+        });
+        fuelList = Map.copyOf(validFuelList);
+        this.fuelTimes = Map.copyOf(fuelTimes);
+
+        Map<String, Boolean> validDimensionList = new HashMap<>();
+        Set<ResourceLocation> disabledDimensions = new HashSet<>();
+        validDimensions.forEach((key, value) -> {
+            ResourceLocation id = key == null ? null : ResourceLocation.tryParse(key);
+            if (id == null || value == null) {
+                LOGGER.warn("Ignoring invalid dimension entry {}", key);
+            } else {
+                validDimensionList.put(key, value);
+                if (!value) {
+                    disabledDimensions.add(id);
+                }
+            }
+        });
+        validDimensions = Map.copyOf(validDimensionList);
+        this.disabledDimensions = Set.copyOf(disabledDimensions);
+    }
+
+    /**
+     * The custom fuel time of an item, or -1 if not listed
+     */
+    public int getFuelTime(ResourceLocation item) {
+        Integer time = fuelTimes.get(item);
+        return time == null ? -1 : time;
+    }
+
+    public boolean isDimensionValid(ResourceLocation dimension) {
+        return !disabledDimensions.contains(dimension);
+    }
 }
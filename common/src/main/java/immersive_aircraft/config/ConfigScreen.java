@@ -15,11 +15,16 @@ import java.lang.reflect.Field;
 
 public class ConfigScreen {
     public static Screen getScreen() {
-        Config config = Config.getInstance();
+        // edit a copy, the current snapshot stays untouched until saved
+        Config config = Config.getInstance().copy();
 
         ConfigBuilder builder = ConfigBuilder.create()
                 .setTitle(Component.translatable("itemGroup." + Main.MOD_ID + "." + Main.MOD_ID + "_tab"))
-                .setSavingRunnable(config::save);
+                .setSavingRunnable(() -> {
+                    Config saved = config.copy();
+                    saved.save();
+                    Config.publish(saved);
+                });
 
         ConfigCategory general = builder.getOrCreateCategory(Component.translatable("option." + Main.MOD_ID + ".general"));
 
@@ -35,6 +40,7 @@ public class ConfigScreen {
                                 .setDefaultValue(entry.value())
                                 .setSaveConsumer(v -> {
                                     try {
+                                        config.checkMutable();
                                         field.setInt(config, v);
                                     } catch (IllegalAccessException e) {
                                         throw new RuntimeException(e);
@@ -48,6 +54,7 @@ public class ConfigScreen {
                                 .setDefaultValue(entry.value())
                                 .setSaveConsumer(v -> {
                                     try {
+                                        config.checkMutable();
                                         field.setFloat(config, v);
                                     } catch (IllegalAccessException e) {
                                         throw new RuntimeException(e);
@@ -61,6 +68,7 @@ public class ConfigScreen {
                                 .setDefaultValue(entry.value())
                                 .setSaveConsumer(v -> {
                                     try {
+                                        config.checkMutable();
                                         field.setBoolean(config, v);
                                     } catch (IllegalAccessException e) {
                                         throw new RuntimeException(e);
@@ -0,0 +1,92 @@
+package immersive_aircraft.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches the config file and publishes a new snapshot whenever it changes on disk.
+ * A file which fails to parse, e.g. while still being written, keeps the current snapshot.
+ * Content equal to what the config itself wrote last is skipped, so saving does not publish twice.
+ */
+public class ConfigWatcher {
+    // editors tend to emit several events per save, wait for them to settle
+    private static final long SETTLE_TIME = 100;
+
+    private static boolean started;
+
+    // the content last written or reloaded
+    private static volatile String lastContent;
+
+    static void written(String content) {
+        lastContent = content;
+    }
+
+    static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        Path file = JsonConfig.getConfigFile().toPath().toAbsolutePath().normalize();
+        Path directory = file.getParent();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            Thread thread = new Thread(() -> watch(watchService, file), "Immersive Aircraft Config Watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException | UnsupportedOperationException e) {
+            JsonConfig.LOGGER.warn("Config hot reload is not available: {}", e.getMessage());
+        }
+    }
+
+    private static void watch(WatchService watchService, Path file) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && file.getFileName().equals(path)) {
+                        changed = true;
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+
+                if (changed) {
+                    Thread.sleep(SETTLE_TIME);
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private static void reload() {
+        if (!JsonConfig.getConfigFile().exists()) {
+            return;
+        }
+        try {
+            String content = Files.readString(JsonConfig.getConfigFile().toPath(), StandardCharsets.UTF_8);
+            if (content.equals(lastContent)) {
+                return;
+            }
+            Config.publish(JsonConfig.parse(content));
+            lastContent = content;
+            JsonConfig.LOGGER.info("Reloaded Immersive Aircraft config");
+        } catch (Exception e) {
+            JsonConfig.LOGGER.warn("Failed to reload Immersive Aircraft config, keeping the current one: {}", e.getMessage());
+        }
+    }
+}
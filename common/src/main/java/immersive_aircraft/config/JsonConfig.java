@@ -10,17 +10,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 public class JsonConfig {
     public static final Logger LOGGER = LogManager.getLogger();
 
     public int version = 0;
 
+    // set once published, a frozen config is never written again
+    private transient boolean frozen;
+
     int getVersion() {
         return 1;
     }
@@ -48,34 +51,104 @@ public class JsonConfig {
     }
 
     public void save() {
-        try (FileWriter writer = new FileWriter(getConfigFile())) {
+        if (version != getVersion()) {
+            checkMutable();
             version = getVersion();
+        }
+        try {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            gson.toJson(this, writer);
+            String content = gson.toJson(this);
+            Files.writeString(getConfigFile().toPath(), content, StandardCharsets.UTF_8);
+            ConfigWatcher.written(content);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Reads the config file without writing it back, the result is validated and compiled
+     */
+    public static Config load() throws IOException {
+        return parse(Files.readString(getConfigFile().toPath(), StandardCharsets.UTF_8));
+    }
+
+    static Config parse(String content) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        Config config = gson.fromJson(content, Config.class);
+        if (config == null) {
+            throw new IOException("Empty config");
+        }
+        if (config.version != config.getVersion()) {
+            config = new Config();
+        }
+        config.validate();
+        config.compile();
+        return config;
+    }
+
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Throws if this config has been published, published snapshots are shared and read only, edit a copy() instead
+     */
+    void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Published config snapshots are read only, edit a copy instead");
+        }
+    }
+
+    /**
+     * A detached copy, to be edited and published as a new snapshot
+     */
+    public Config copy() {
+        Gson gson = new Gson();
+        Config config = gson.fromJson(gson.toJsonTree(this), Config.class);
+        config.validate();
+        config.compile();
+        return config;
+    }
+
     public static Config loadOrCreate() {
         if (getConfigFile().exists()) {
-            try (FileReader reader = new FileReader(getConfigFile())) {
-                Gson gson = new GsonBuilder().setPrettyPrinting().create();
-                Config config = gson.fromJson(reader, Config.class);
-                if (config.version != config.getVersion()) {
-                    config = new Config();
-                }
+            try {
+                Config config = load();
                 config.save();
                 return config;
             } catch (Exception e) {
                 LOGGER.error("Failed to load Immersive Aircraft config! Default config is used for now. Delete the file to reset.");
                 LOGGER.error(e);
-                return new Config();
+                Config config = new Config();
+                config.compile();
+                return config;
             }
         } else {
             Config config = new Config();
+            config.compile();
             config.save();
             return config;
         }
     }
+
+    /**
+     * Clamps all numeric entries into their declared range
+     */
+    void validate() {
+        checkMutable();
+        for (Field field : Config.class.getDeclaredFields()) {
+            for (Annotation annotation : field.getAnnotations()) {
+                try {
+                    if (annotation instanceof IntegerConfigEntry entry) {
+                        field.setInt(this, Math.max(entry.min(), Math.min(entry.max(), field.getInt(this))));
+                    } else if (annotation instanceof FloatConfigEntry entry) {
+                        float value = field.getFloat(this);
+                        field.setFloat(this, Float.isNaN(value) ? entry.value() : Math.max(entry.min(), Math.min(entry.max(), value)));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
 }
@@ -3,11 +3,14 @@ package immersive_aircraft.entity;
 import com.mojang.math.Vector3f;
 import immersive_aircraft.config.Config;
 import immersive_aircraft.entity.misc.AircraftProperties;
+import immersive_aircraft.entity.misc.PhysicsStage;
 import immersive_aircraft.entity.misc.Trail;
+import immersive_aircraft.entity.misc.WindField;
 import immersive_aircraft.item.upgrade.AircraftStat;
-import immersive_aircraft.util.Utils;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.entity.EntityInLevelCallback;
 import net.minecraft.world.phys.Vec3;
 
 import java.util.Collections;
@@ -19,6 +22,24 @@ import java.util.List;
 public abstract class AircraftEntity extends InventoryVehicleEntity {
     private double lastY;
 
+    private final Vector3f windTarget = new Vector3f();
+    private final Vector3f windEffect = new Vector3f();
+    private final Vector3f prevWindEffect = new Vector3f();
+
+    // flight state for the serial path, and the physics stage's result slot, valid for the game time it was gathered at
+    private PhysicsStage.Buffers flight;
+    private PhysicsStage.Buffers stageBuffers;
+    private int stageIndex;
+    private long stageTime = Long.MIN_VALUE;
+
+    // the state the stage's inputs were gathered from, anything changing it since invalidates the result
+    private Vec3 stageVelocity;
+    private float stageXRot;
+    private float stageYRot;
+    private boolean stageOnGround;
+    private boolean stageInWater;
+    private double stageLastY;
+
     public AircraftEntity(EntityType<? extends AircraftEntity> entityType, Level world, boolean canExplodeOnCrash) {
         super(entityType, world, canExplodeOnCrash);
     }
@@ -39,6 +60,20 @@ public abstract class AircraftEntity extends InventoryVehicleEntity {
 
     @Override
     public void tick() {
+        if (!level.isClientSide && Config.getInstance().parallelPhysics) {
+            PhysicsStage.prepare((ServerLevel) level);
+        }
+
+        if (isSleeping()) {
+            super.tick();
+            return;
+        }
+
+        // wind, unless the physics stage already updated it
+        if (stageTime != level.getGameTime()) {
+            updateWind();
+        }
+
         // rolling interpolation
         prevRoll = roll;
         if (onGround) {
@@ -52,14 +87,30 @@ public abstract class AircraftEntity extends InventoryVehicleEntity {
         }
 
         super.tick();
+
+        // in case the stage's result has not been used
+        stageBuffers = null;
     }
 
-    protected void convertPower(Vec3 direction) {
-        Vec3 velocity = getDeltaMovement();
-        double drag = Math.abs(direction.dot(velocity.normalize()));
-        setDeltaMovement(velocity.normalize()
-                .lerp(direction, getProperties().getLift())
-                .scale(velocity.length() * (drag * getProperties().getDriftDrag() + (1.0 - getProperties().getDriftDrag()))));
+    @Override
+    public void setLevelCallback(EntityInLevelCallback callback) {
+        super.setLevelCallback(callback);
+
+        // the physics stage only considers aircraft loaded into its level
+        if (level instanceof ServerLevel serverLevel) {
+            if (callback == EntityInLevelCallback.NULL) {
+                PhysicsStage.unregister(serverLevel, this);
+            } else {
+                PhysicsStage.register(serverLevel, this);
+            }
+        }
+    }
+
+    /**
+     * Whether power is only converted along the horizon, leaving the vertical velocity untouched
+     */
+    protected boolean isPowerHorizontal() {
+        return false;
     }
 
     protected float getHorizontalVelocityDelay() {
@@ -87,6 +138,40 @@ public abstract class AircraftEntity extends InventoryVehicleEntity {
 
     @Override
     protected void updateVelocity() {
+        PhysicsStage.Buffers buffers = stageBuffers;
+        stageBuffers = null;
+        if (buffers != null && stageTime == level.getGameTime()) {
+            if (isStageResultValid()) {
+                // already integrated by the physics stage
+                applyFlight(buffers, stageIndex);
+                return;
+            }
+
+            // pushed, hit or moved into water since gathering, integrate again from the current state
+            lastY = stageLastY;
+        }
+
+        if (flight == null) {
+            flight = new PhysicsStage.Buffers(1);
+        }
+        gatherFlightInputs(flight, 0);
+        flight.integrate(0);
+        applyFlight(flight, 0);
+    }
+
+    private boolean isStageResultValid() {
+        return getDeltaMovement().equals(stageVelocity)
+                && getXRot() == stageXRot && getYRot() == stageYRot
+                && onGround == stageOnGround && wasTouchingWater == stageInWater;
+    }
+
+    /**
+     * Writes the integration inputs into the i-th entry, on the main thread
+     */
+    private void gatherFlightInputs(PhysicsStage.Buffers buffers, int i) {
+        loadVelocity();
+        updateDirections();
+
         float decay = 1.0f - 0.015f * getTotalUpgrade(AircraftStat.FRICTION);
         float gravity = getGravity();
         if (wasTouchingWater) {
@@ -100,34 +185,70 @@ public abstract class AircraftEntity extends InventoryVehicleEntity {
             }
         }
 
-        // get direction
-        Vec3 direction = getForwardDirection();
-
         // glide
-        double diff = lastY - getY();
-        if (lastY != 0.0 && getProperties().getGlideFactor() > 0 && diff != 0.0) {
-            setDeltaMovement(getDeltaMovement().add(direction.scale(diff * getProperties().getGlideFactor() * (1.0f - Math.abs(direction.y())))));
+        double glide = 0.0;
+        if (lastY != 0.0 && getProperties().getGlideFactor() > 0) {
+            glide = (lastY - getY()) * getProperties().getGlideFactor();
         }
         lastY = getY();
 
-        // convert power
-        convertPower(direction);
+        buffers.velocityX[i] = velocityX;
+        buffers.velocityY[i] = velocityY;
+        buffers.velocityZ[i] = velocityZ;
+        buffers.forwardX[i] = forwardX;
+        buffers.forwardY[i] = forwardY;
+        buffers.forwardZ[i] = forwardZ;
+        buffers.glide[i] = glide;
+        buffers.lift[i] = getProperties().getLift();
+        buffers.driftDrag[i] = getProperties().getDriftDrag();
+        buffers.horizontal[i] = isPowerHorizontal();
+        buffers.decay[i] = decay;
+        buffers.gravity[i] = gravity;
+        buffers.horizontalDelay[i] = getHorizontalVelocityDelay();
+        buffers.verticalDelay[i] = getVerticalVelocityDelay();
+        buffers.windX[i] = windEffect.x();
+        buffers.windZ[i] = windEffect.z();
+        buffers.airborne[i] = !onGround;
+    }
+
+    /**
+     * Updates the wind and gathers the inputs for the physics stage, on the main thread
+     */
+    public void gatherFlight(PhysicsStage.Buffers buffers, int i, long time) {
+        updateWind();
 
-        // friction
-        Vec3 velocity = getDeltaMovement();
-        setDeltaMovement(velocity.x * decay * getHorizontalVelocityDelay(), velocity.y * decay * getVerticalVelocityDelay() + gravity, velocity.z * decay * getHorizontalVelocityDelay());
+        stageVelocity = getDeltaMovement();
+        stageXRot = getXRot();
+        stageYRot = getYRot();
+        stageOnGround = onGround;
+        stageInWater = wasTouchingWater;
+        stageLastY = lastY;
+
+        gatherFlightInputs(buffers, i);
+        stageBuffers = buffers;
+        stageIndex = i;
+        stageTime = time;
+    }
+
+    /**
+     * Takes over the integrated velocity and applies the remaining, world dependent changes, on the main thread
+     */
+    protected void applyFlight(PhysicsStage.Buffers buffers, int i) {
+        velocityX = buffers.velocityX[i];
+        velocityY = buffers.velocityY[i];
+        velocityZ = buffers.velocityZ[i];
+
+        float decay = buffers.decay[i];
         pressingInterpolatedX.decay(0.0f, 1.0f - decay * getRotationDecay());
         pressingInterpolatedZ.decay(0.0f, 1.0f - decay * getRotationDecay());
 
-        // wind
-        if (!onGround) {
-            Vector3f effect = getWindEffect();
-            setXRot(getXRot() + effect.x());
-            setYRot(getYRot() + effect.z());
-
-            float offsetStrength = 0.005f;
-            setDeltaMovement(getDeltaMovement().add(effect.x() * offsetStrength, 0.0f, effect.z() * offsetStrength));
+        // wind, rotating is collision checked
+        if (buffers.airborne[i]) {
+            setXRot(getXRot() + buffers.windX[i]);
+            setYRot(getYRot() + buffers.windZ[i]);
         }
+
+        storeVelocity();
     }
 
     public void chill() {
@@ -136,17 +257,37 @@ public abstract class AircraftEntity extends InventoryVehicleEntity {
 
     public float getWindStrength() {
         float sensitivity = getProperties().getWindSensitivity();
-        float thundering = level.getRainLevel(0.0f);
-        float raining = level.getThunderLevel(0.0f);
-        float weather = (float) ((Config.getInstance().windClearWeather + getDeltaMovement().length()) + thundering * Config.getInstance().windThunderWeather + raining * Config.getInstance().windRainWeather);
-        return weather * sensitivity;
+        return (float) (WindField.get(level).getStrength() + getDeltaMovement().length()) * sensitivity;
+    }
+
+    /**
+     * Samples the level's wind field, heavier aircraft follow changes more slowly
+     */
+    private void updateWind() {
+        WindField.get(level).sample(getX(), getY(), getZ(), windTarget);
+        windTarget.mul(getWindStrength());
+        prevWindEffect.set(windEffect.x(), windEffect.y(), windEffect.z());
+        windEffect.lerp(windTarget, 1.0f / Math.max(1.0f, getProperties().getMass()));
+    }
+
+    public boolean canIntegrateConcurrently() {
+        return !isSleeping() && !isRemoved() && !isPassenger() && isControlledByLocalInstance() && isSteppedEveryTick();
     }
 
+    /**
+     * The current wind effect, updated once per tick
+     */
     public Vector3f getWindEffect() {
-        float wind = getWindStrength();
-        float nx = (float) (Utils.cosNoise(tickCount / 20.0 / getProperties().getMass()) * wind);
-        float nz = (float) (Utils.cosNoise(tickCount / 21.0 / getProperties().getMass()) * wind);
-        return new Vector3f(nx, 0.0f, nz);
+        return windEffect;
+    }
+
+    /**
+     * The wind effect interpolated between the last two ticks, written into target
+     */
+    public Vector3f getWindEffect(float tickDelta, Vector3f target) {
+        target.set(prevWindEffect.x(), prevWindEffect.y(), prevWindEffect.z());
+        target.lerp(windEffect, tickDelta);
+        return target;
     }
 }
 
@@ -2,9 +2,9 @@ package immersive_aircraft.entity;
 
 import immersive_aircraft.entity.misc.AircraftProperties;
 import immersive_aircraft.entity.misc.WeaponMount;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.Vec3;
 
 /**
  * Implements airplane like physics properties and accelerated towards
@@ -43,8 +43,8 @@ public abstract class AirplaneEntity extends EngineAircraft {
 
     @Override
     protected float getGravity() {
-        Vec3 direction = getForwardDirection();
-        float speed = (float) ((float) getDeltaMovement().length() * (1.0f - Math.abs(direction.y())));
+        float pitch = Mth.sin(getXRot() * Mth.DEG_TO_RAD);
+        float speed = (float) ((float) getDeltaMovement().length() * (1.0f - Math.abs(pitch)));
         return Math.max(0.0f, 1.0f - speed * 1.5f) * super.getGravity();
     }
 
@@ -60,21 +60,27 @@ public abstract class AirplaneEntity extends EngineAircraft {
 
         super.updateController();
 
+        loadVelocity();
+        updateDirections();
+
         // engine control
         if (movementY != 0) {
             setEngineTarget(Math.max(0.0f, Math.min(1.0f, getEngineTarget() + 0.1f * movementY)));
             if (movementY < 0) {
-                setDeltaMovement(getDeltaMovement().scale(getBrakeFactor()));
+                velocityX *= getBrakeFactor();
+                velocityY *= getBrakeFactor();
+                velocityZ *= getBrakeFactor();
             }
         }
 
-        // get direction
-        Vec3 direction = getForwardDirection();
-
         // speed
         float thrust = (float) (Math.pow(getEnginePower(), 2.0) * properties.getEngineSpeed());
 
         // accelerate
-        setDeltaMovement(getDeltaMovement().add(direction.scale(thrust)));
+        velocityX += forwardX * thrust;
+        velocityY += forwardY * thrust;
+        velocityZ += forwardZ * thrust;
+
+        storeVelocity();
     }
 }
@@ -1,13 +1,13 @@
 package immersive_aircraft.entity;
 
 import com.mojang.math.Matrix4f;
-import com.mojang.math.Vector3f;
 import com.mojang.math.Vector4f;
 import immersive_aircraft.Items;
 import immersive_aircraft.Sounds;
 import immersive_aircraft.entity.misc.AircraftProperties;
 import immersive_aircraft.entity.misc.Trail;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
+import immersive_aircraft.util.ParticleBudget;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.world.entity.EntityType;
@@ -54,7 +54,7 @@ public class AirshipEntity extends Rotorcraft {
         return 50.0f;
     }
 
-    protected SoundEvent getEngineSound() {
+    public SoundEvent getEngineSound() {
         return Sounds.PROPELLER_SMALL.get();
     }
 
@@ -98,22 +98,15 @@ public class AirshipEntity extends Rotorcraft {
             )
     );
 
-    private final List<Trail> trails = List.of(new Trail(15, 0.5f));
+    private final List<Trail> trails = List.of(new Trail(15, 0.5f).setEmitter(0.0f, 0.4f, -1.2f, 0.15f, 0.0f, 0.0f));
 
     public List<Trail> getTrails() {
         return trails;
     }
 
-    void trail(Matrix4f transform) {
-        trail(transform, 0);
-    }
-
-    void trail(Matrix4f transform, int index) {
-        Vector4f p0 = transformPosition(transform, (float) 0.0 - 0.15f, 0.0f, 0.0f);
-        Vector4f p1 = transformPosition(transform, (float) 0.0 + 0.15f, 0.0f, 0.0f);
-
+    void trail(int index, float spin) {
         float trailStrength = Math.max(0.0f, Math.min(1.0f, (float) (getDeltaMovement().length() - 0.05f)));
-        getTrails().get(index).add(p0, p1, trailStrength);
+        getTrails().get(index).add(this, spin, trailStrength);
     }
 
     protected List<List<Vec3>> getPassengerPositions() {
@@ -131,15 +124,19 @@ public class AirshipEntity extends Rotorcraft {
 
         setEngineTarget(1.0f);
 
-        // up and down
-        setDeltaMovement(getDeltaMovement().add(0.0f, getEnginePower() * properties.getVerticalSpeed() * pressingInterpolatedY.getSmooth(), 0.0f));
+        loadVelocity();
+        updateDirections();
 
-        // get pointing direction
-        Vec3 direction = getForwardDirection();
+        // up and down
+        velocityY += getEnginePower() * properties.getVerticalSpeed() * pressingInterpolatedY.getSmooth();
 
         // accelerate
         float thrust = (float) (Math.pow(getEnginePower(), 5.0) * properties.getEngineSpeed()) * pressingInterpolatedZ.getSmooth();
-        setDeltaMovement(getDeltaMovement().add(direction.scale(thrust)));
+        velocityX += forwardX * thrust;
+        velocityY += forwardY * thrust;
+        velocityZ += forwardZ * thrust;
+
+        storeVelocity();
     }
 
     @Override
@@ -150,27 +147,23 @@ public class AirshipEntity extends Rotorcraft {
 
         if (level.isClientSide) {
             if (isWithinParticleRange() && power > 0.01) {
-                Matrix4f transform = getVehicleTransform();
-
                 // Trails
-                addTrails(transform);
+                addTrails();
 
                 // Smoke
                 if (tickCount % 2 == 0) {
+                    Matrix4f transform = getVehicleTransform();
                     Vector4f p = transformPosition(transform, (random.nextFloat() - 0.5f) * 0.4f, 0.8f, -0.8f);
                     Vec3 velocity = getDeltaMovement();
-                    level.addParticle(ParticleTypes.SMOKE, p.x(), p.y(), p.z(), velocity.x, velocity.y, velocity.z);
+                    ParticleBudget.addParticle(level, ParticleTypes.SMOKE, ParticleBudget.Importance.LOW, p.x(), p.y(), p.z(), velocity.x, velocity.y, velocity.z);
                 }
             } else {
-                trails.get(0).add(ZERO_VEC4, ZERO_VEC4, 0.0f);
+                trails.get(0).addEmpty(this);
             }
         }
     }
 
-    protected void addTrails(Matrix4f transform) {
-        Matrix4f tr = transform.copy();
-        tr.multiplyWithTranslation(0.0f, 0.4f, -1.2f);
-        tr.multiply(Vector3f.ZP.rotationDegrees(engineRotation.getSmooth() * 50.0f));
-        trail(tr);
+    protected void addTrails() {
+        trail(0, engineRotation.getSmooth() * 50.0f);
     }
 }
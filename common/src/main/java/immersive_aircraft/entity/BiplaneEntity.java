@@ -9,6 +9,7 @@ import immersive_aircraft.entity.misc.Trail;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
 import immersive_aircraft.entity.misc.WeaponMount;
 import immersive_aircraft.item.WeaponItem;
+import immersive_aircraft.util.ParticleBudget;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.item.Item;
@@ -74,18 +75,18 @@ public class BiplaneEntity extends AirplaneEntity {
         return PASSENGER_POSITIONS;
     }
 
-    private final List<Trail> trails = List.of(new Trail(40), new Trail(40));
+    private final List<Trail> trails = List.of(
+            new Trail(40).setEmitter(-3.75f, 0.25f, 0.6f, 0.0f, 0.15f, 0.0f),
+            new Trail(40).setEmitter(3.75f, 0.25f, 0.6f, 0.0f, 0.15f, 0.0f)
+    );
 
     public List<Trail> getTrails() {
         return trails;
     }
 
-    private void trail(Matrix4f transform, int index, float x, float y, float z) {
-        Vector4f p0 = transformPosition(transform, x, y - 0.15f, z);
-        Vector4f p1 = transformPosition(transform, x, y + 0.15f, z);
-
+    private void trail(int index, float x) {
         float trailStrength = Math.max(0.0f, Math.min(1.0f, (float) (Math.sqrt(getDeltaMovement().length()) * (0.5f + (pressingInterpolatedX.getSmooth() * x) * 0.025f) - 0.25f)));
-        trails.get(index).add(p0, p1, trailStrength);
+        trails.get(index).add(this, 0.0f, trailStrength);
     }
 
     @Override
@@ -99,24 +100,23 @@ public class BiplaneEntity extends AirplaneEntity {
 
         if (level.isClientSide) {
             if (isWithinParticleRange()) {
-                Matrix4f transform = getVehicleTransform();
-                Matrix3f normalTransform = getVehicleNormalTransform();
-
                 // Trails
-                trail(transform, 0, -3.75f, 0.25f, 0.6f);
-                trail(transform, 1, 3.75f, 0.25f, 0.6f);
+                trail(0, -3.75f);
+                trail(1, 3.75f);
 
                 // Smoke
                 float power = getEnginePower();
                 if (power > 0.05) {
+                    Matrix4f transform = getVehicleTransform();
+                    Matrix3f normalTransform = getVehicleNormalTransform();
                     Vector4f p = transformPosition(transform, 0.325f * (tickCount % 4 == 0 ? -1.0f : 1.0f), 0.5f, 0.8f);
                     Vector3f vel = transformVector(normalTransform, 0.2f * (tickCount % 4 == 0 ? -1.0f : 1.0f), 0.0f, 0.0f);
                     Vec3 velocity = getDeltaMovement();
-                    level.addParticle(ParticleTypes.SMOKE, p.x(), p.y(), p.z(), vel.x() + velocity.x, vel.y() + velocity.y, vel.z() + velocity.z);
+                    ParticleBudget.addParticle(level, ParticleTypes.SMOKE, ParticleBudget.Importance.LOW, p.x(), p.y(), p.z(), vel.x() + velocity.x, vel.y() + velocity.y, vel.z() + velocity.z);
                 }
             } else {
-                trails.get(0).add(ZERO_VEC4, ZERO_VEC4, 0.0f);
-                trails.get(1).add(ZERO_VEC4, ZERO_VEC4, 0.0f);
+                trails.get(0).addEmpty(this);
+                trails.get(1).addEmpty(this);
             }
         }
     }
@@ -1,7 +1,5 @@
 package immersive_aircraft.entity;
 
-import com.mojang.math.Matrix4f;
-import com.mojang.math.Vector3f;
 import immersive_aircraft.Items;
 import immersive_aircraft.entity.misc.Trail;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
@@ -53,9 +51,9 @@ public class CargoAirshipEntity extends AirshipEntity {
     }
 
     private final List<Trail> trails = List.of(
-            new Trail(15, 0.5f),
-            new Trail(11, 0.5f),
-            new Trail(11, 0.5f)
+            new Trail(15, 0.5f).setEmitter(0.0f, 0.4f, -1.2f, 0.15f, 0.0f, 0.0f),
+            new Trail(11, 0.5f).setEmitter(1.15625f, 2.5f, -1.2f, 0.15f, 0.0f, 0.0f),
+            new Trail(11, 0.5f).setEmitter(-1.15625f, 2.5f, -1.2f, 0.15f, 0.0f, 0.0f)
     );
 
     public List<Trail> getTrails() {
@@ -63,20 +61,9 @@ public class CargoAirshipEntity extends AirshipEntity {
     }
 
     @Override
-    protected void addTrails(Matrix4f transform) {
-        Matrix4f tr = transform.copy();
-        tr.multiplyWithTranslation(0.0f, 0.4f, -1.2f);
-        tr.multiply(Vector3f.ZP.rotationDegrees(engineRotation.getSmooth() * 50.0f));
-        trail(tr, 0);
-
-        tr = transform.copy();
-        tr.multiplyWithTranslation(1.15625f, 2.5f, -1.2f);
-        tr.multiply(Vector3f.ZP.rotationDegrees(engineRotation.getSmooth() * 65.0f));
-        trail(tr, 1);
-
-        tr = transform.copy();
-        tr.multiplyWithTranslation(-1.15625f, 2.5f, -1.2f);
-        tr.multiply(Vector3f.ZP.rotationDegrees(-engineRotation.getSmooth() * 65.0f));
-        trail(tr, 2);
+    protected void addTrails() {
+        trail(0, engineRotation.getSmooth() * 50.0f);
+        trail(1, engineRotation.getSmooth() * 65.0f);
+        trail(2, -engineRotation.getSmooth() * 65.0f);
     }
 }
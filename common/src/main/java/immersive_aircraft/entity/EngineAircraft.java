@@ -2,28 +2,26 @@ package immersive_aircraft.entity;
 
 import immersive_aircraft.Sounds;
 import immersive_aircraft.cobalt.network.NetworkHandler;
-import immersive_aircraft.cobalt.registration.CobaltFuelRegistry;
 import immersive_aircraft.config.Config;
+import immersive_aircraft.entity.misc.PhysicsStage;
 import immersive_aircraft.entity.misc.VehicleInventoryDescription;
 import immersive_aircraft.item.upgrade.AircraftStat;
 import immersive_aircraft.network.c2s.EnginePowerMessage;
+import immersive_aircraft.util.FuelTable;
 import immersive_aircraft.util.InterpolatedFloat;
-import net.minecraft.core.Registry;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
+import net.minecraft.world.Container;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * Simulated engine behavior
  */
@@ -35,7 +33,6 @@ public abstract class EngineAircraft extends AircraftEntity {
     public final InterpolatedFloat engineRotation = new InterpolatedFloat();
     public final InterpolatedFloat enginePower = new InterpolatedFloat(20.0f);
     public float engineSpinUpStrength = 0.0f;
-    public float engineSound = 0.0f;
 
     protected enum FuelState {
         NEVER,
@@ -51,6 +48,11 @@ public abstract class EngineAircraft extends AircraftEntity {
 
     private final int[] fuel;
 
+    // server side fuel state, recomputed once per tick
+    private boolean refuelPending = true;
+    private float fuelUtilization;
+    private boolean fuelLow;
+
     public enum GUI_STYLE {
         NONE,
         ENGINE
@@ -63,18 +65,18 @@ public abstract class EngineAircraft extends AircraftEntity {
     public EngineAircraft(EntityType<? extends AircraftEntity> entityType, Level world, boolean canExplodeOnCrash) {
         super(entityType, world, canExplodeOnCrash);
 
-        fuel = new int[getInventoryDescription().getSlots(VehicleInventoryDescription.SlotType.BOILER).size()];
+        fuel = new int[getSlotCount(VehicleInventoryDescription.SlotType.BOILER)];
     }
 
     protected SoundEvent getEngineStartSound() {
         return Sounds.ENGINE_START.get();
     }
 
-    protected SoundEvent getEngineSound() {
+    public SoundEvent getEngineSound() {
         return Sounds.PROPELLER.get();
     }
 
-    protected float getEnginePitch() {
+    public float getEnginePitch() {
         return 1.0f;
     }
 
@@ -103,6 +105,10 @@ public abstract class EngineAircraft extends AircraftEntity {
     public void tick() {
         super.tick();
 
+        if (isSleeping()) {
+            return;
+        }
+
         // adapt engine reaction time
         enginePower.setSteps(getEngineReactionSpeed() / getTotalUpgrade(AircraftStat.ACCELERATION));
 
@@ -122,35 +128,19 @@ public abstract class EngineAircraft extends AircraftEntity {
             setEngineTarget(0.0f);
         }
 
-        // Engine sounds
-        if (level.isClientSide) {
-            engineSound += getEnginePower() * 0.25f;
-            if (engineSound > 1.0f) {
-                engineSound--;
-                if (isFuelLow()) {
-                    engineSound -= random.nextInt(2);
-                }
-                level.playLocalSound(getX(), getY(), getZ(), getEngineSound(), getSoundSource(), Math.min(1.0f, 0.25f + engineSpinUpStrength), (random.nextFloat() * 0.1f + 0.95f) * getEnginePitch(), false);
-            }
-        }
-
         // Fuel
         if (fuel.length > 0 && !level.isClientSide) {
-            float consumption = getFuelConsumption();
-            while (consumption > 0 && (consumption >= 1 || random.nextFloat() < consumption)) {
-                for (int i = 0; i < fuel.length; i++) {
-                    if (fuel[i] > 0) {
-                        fuel[i]--;
-                    }
-                }
-                consumption--;
+            consumeFuel(getFuelConsumption());
+
+            // Refuel
+            if (refuelPending && isVehicle()) {
+                refuel();
             }
+
+            updateFuelState();
         }
 
-        // Refuel
         if (isVehicle()) {
-            refuel();
-
             // Fuel notification
             if (getControllingPassenger() instanceof ServerPlayer player) {
                 float utilization = getFuelUtilization();
@@ -173,22 +163,79 @@ public abstract class EngineAircraft extends AircraftEntity {
         }
     }
 
-    protected boolean isFuelLow() {
+    @Override
+    protected boolean canSleep() {
+        return super.canSleep() && getEngineTarget() <= 0 && enginePower.getSmooth() < 0.01f;
+    }
+
+    public boolean isFuelLow() {
         if (level.isClientSide) {
             return entityData.get(LOW_ON_FUEL);
         } else {
-            boolean low = true;
-            for (int i : fuel) {
-                if (i > LOW_FUEL) {
-                    low = false;
-                    break;
-                }
+            return fuelLow;
+        }
+    }
+
+    /**
+     * Burns the whole units of this tick's consumption, and the remaining fraction by chance
+     */
+    private void consumeFuel(float consumption) {
+        if (consumption <= 0) {
+            return;
+        }
+        int units = (int) consumption;
+        if (units < consumption && random.nextFloat() < consumption - units) {
+            units++;
+        }
+        if (units == 0) {
+            return;
+        }
+
+        for (int i = 0; i < fuel.length; i++) {
+            int before = fuel[i];
+            fuel[i] = Math.max(0, before - units);
+
+            // only burners dropping below the target need to be refueled
+            if (before > TARGET_FUEL && fuel[i] <= TARGET_FUEL) {
+                refuelPending = true;
             }
+        }
+    }
+
+    /**
+     * Recomputes utilization and the low fuel flag, and only syncs them on change
+     */
+    private void updateFuelState() {
+        int running = 0;
+        boolean low = true;
+        for (int i : fuel) {
+            if (i > 0) {
+                running++;
+            }
+            if (i > LOW_FUEL) {
+                low = false;
+            }
+        }
+        float utilization = (float) running / fuel.length * (low ? 0.75f : 1.0f);
+
+        if (low != fuelLow) {
+            fuelLow = low;
             entityData.set(LOW_ON_FUEL, low);
-            return low;
+        }
+        if (utilization != fuelUtilization) {
+            fuelUtilization = utilization;
+            entityData.set(UTILIZATION, utilization);
         }
     }
 
+    @Override
+    public void containerChanged(Container sender) {
+        super.containerChanged(sender);
+
+        // a boiler slot may have been refilled
+        refuelPending = true;
+    }
+
     protected String getFuelType() {
         return "fuel";
     }
@@ -197,10 +244,9 @@ public abstract class EngineAircraft extends AircraftEntity {
         return getEngineTarget() * getTotalUpgrade(AircraftStat.FUEL) * getBaseFuelConsumption() * Config.getInstance().fuelConsumption;
     }
 
-    private void refuel(int i) {
+    private void refuel(int i, int[] slots) {
         while (fuel[i] <= TARGET_FUEL) {
-            List<VehicleInventoryDescription.Slot> slots = getInventoryDescription().getSlots(VehicleInventoryDescription.SlotType.BOILER);
-            ItemStack stack = inventory.getItem(slots.get(i).index);
+            ItemStack stack = inventory.getItem(slots[i]);
             int time = getFuelTime(stack);
             if (time > 0) {
                 fuel[i] += time;
@@ -208,7 +254,7 @@ public abstract class EngineAircraft extends AircraftEntity {
                 stack.shrink(1);
                 if (stack.isEmpty()) {
                     Item item2 = item.getCraftingRemainingItem();
-                    inventory.setItem(slots.get(i).index, item2 == null ? ItemStack.EMPTY : new ItemStack(item2));
+                    inventory.setItem(slots[i], item2 == null ? ItemStack.EMPTY : new ItemStack(item2));
                 }
             } else {
                 break;
@@ -217,9 +263,13 @@ public abstract class EngineAircraft extends AircraftEntity {
     }
 
     private void refuel() {
+        int[] slots = getInventoryDescription().getSlotIndices(VehicleInventoryDescription.SlotType.BOILER);
         for (int i = 0; i < fuel.length; i++) {
-            refuel(i);
+            refuel(i, slots);
         }
+
+        // burners still below the target wait for their slot to change
+        refuelPending = false;
     }
 
     @Override
@@ -235,8 +285,8 @@ public abstract class EngineAircraft extends AircraftEntity {
     }
 
     @Override
-    protected void updateVelocity() {
-        super.updateVelocity();
+    protected void applyFlight(PhysicsStage.Buffers buffers, int i) {
+        super.applyFlight(buffers, i);
 
         // landing
         if (onGround) {
@@ -267,47 +317,21 @@ public abstract class EngineAircraft extends AircraftEntity {
     }
 
     public static int getFuelTime(ItemStack fuel) {
-        if (fuel.isEmpty()) {
-            return 0;
-        }
-
-        // Custom fuel
-        Map<String, Integer> fuelList = Config.getInstance().fuelList;
-        String identifier = Registry.ITEM.getKey(fuel.getItem()).toString();
-        if (fuelList.containsKey(identifier)) {
-            return fuelList.get(identifier);
-        }
-
-        // Vanilla fuel
-        if (Config.getInstance().acceptVanillaFuel) {
-            int fuelTime = CobaltFuelRegistry.INSTANCE.get(fuel);
-            if (fuelTime > 0) {
-                return fuelTime;
-            }
-        }
-
-        return 0;
+        return FuelTable.get(fuel);
     }
 
     public float getFuelUtilization() {
-        if (Config.getInstance().fuelConsumption == 0) {
+        Config config = Config.getInstance();
+        if (config.fuelConsumption == 0) {
             return 1.0f;
         }
-        if (!Config.getInstance().burnFuelInCreative && getControllingPassenger() instanceof Player player && player.isCreative()) {
+        if (!config.burnFuelInCreative && getControllingPassenger() instanceof Player player && player.isCreative()) {
             return 1.0f;
         }
         if (level.isClientSide) {
             return entityData.get(UTILIZATION);
         } else {
-            int running = 0;
-            for (int i : fuel) {
-                if (i > 0) {
-                    running++;
-                }
-            }
-            float utilization = (float) running / fuel.length * (isFuelLow() ? 0.75f : 1.0f);
-            entityData.set(UTILIZATION, utilization);
-            return utilization;
+            return fuelUtilization;
         }
     }
 }
@@ -56,7 +56,7 @@ public class GyrodyneEntity extends Rotorcraft {
         return Sounds.WOOSH.get();
     }
 
-    protected SoundEvent getEngineSound() {
+    public SoundEvent getEngineSound() {
         return Sounds.WOOSH.get();
     }
 
@@ -121,7 +121,7 @@ public class GyrodyneEntity extends Rotorcraft {
     }
 
     @Override
-    protected boolean isFuelLow() {
+    public boolean isFuelLow() {
         return false;
     }
 
@@ -142,22 +142,29 @@ public class GyrodyneEntity extends Rotorcraft {
             }
         }
 
+        loadVelocity();
+        updateDirections();
+
         // up and down
         float power = getEnginePower() * properties.getVerticalSpeed() * pressingInterpolatedY.getSmooth();
-        setDeltaMovement(getDeltaMovement().add(getTopDirection().scale(power)));
-
-        // get direction
-        Vec3 direction = getForwardDirection();
+        velocityX += topX * power;
+        velocityY += topY * power;
+        velocityZ += topZ * power;
 
         // speed
         float sin = Mth.sin(getXRot() * ((float) Math.PI / 180));
         float thrust = (float) (Math.pow(getEnginePower(), 2.0) * properties.getEngineSpeed()) * sin;
         if (onGround && getEngineTarget() < 1.0) {
-            thrust = PUSH_SPEED / (1.0f + (float) getDeltaMovement().length() * 5.0f) * pressingInterpolatedZ.getSmooth() * (pressingInterpolatedZ.getSmooth() > 0.0 ? 1.0f : 0.5f) * getEnginePower();
+            float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY + velocityZ * velocityZ);
+            thrust = PUSH_SPEED / (1.0f + speed * 5.0f) * pressingInterpolatedZ.getSmooth() * (pressingInterpolatedZ.getSmooth() > 0.0 ? 1.0f : 0.5f) * getEnginePower();
         }
 
         // accelerate
-        setDeltaMovement(getDeltaMovement().add(direction.scale(thrust)));
+        velocityX += forwardX * thrust;
+        velocityY += forwardY * thrust;
+        velocityZ += forwardZ * thrust;
+
+        storeVelocity();
     }
 
     @Override
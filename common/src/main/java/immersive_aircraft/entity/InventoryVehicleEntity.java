@@ -13,6 +13,7 @@ import immersive_aircraft.item.upgrade.AircraftUpgradeRegistry;
 import immersive_aircraft.mixin.ServerPlayerEntityMixin;
 import immersive_aircraft.network.s2c.OpenGuiRequest;
 import immersive_aircraft.screen.VehicleScreenHandler;
+import immersive_aircraft.util.ParticleBudget;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -27,17 +28,19 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public abstract class InventoryVehicleEntity extends VehicleEntity implements ContainerListener, MenuProvider {
     protected SparseSimpleInventory inventory;
-    protected Map<Integer, List<Weapon>> weapons = new HashMap<>();
+    private static final Weapon[] NO_WEAPONS = new Weapon[0];
+
+    // mounted weapons per weapon slot, rebuilt when the inventory changed
+    protected Weapon[][] weapons;
+    private boolean weaponsChanged = true;
 
     private static final VehicleInventoryDescription inventoryDescription = new VehicleInventoryDescription()
             .addSlot(VehicleInventoryDescription.SlotType.BOILER, 8 + 9, 8 + 10)
@@ -51,21 +54,45 @@ public abstract class InventoryVehicleEntity extends VehicleEntity implements Co
         return List.of(WeaponMount.EMPTY);
     }
 
+    /**
+     * Copies the stacks of all slots of the given type, prefer getSlotCount and getSlotItem
+     */
     public List<ItemStack> getSlots(VehicleInventoryDescription.SlotType slotType) {
-        List<VehicleInventoryDescription.Slot> slots = getInventoryDescription().getSlots(slotType);
-        List<ItemStack> list = new ArrayList<>(slots.size());
-        for (VehicleInventoryDescription.Slot slot : slots) {
-            list.add(getInventory().getItem(slot.index));
+        int[] indices = getInventoryDescription().getSlotIndices(slotType);
+        List<ItemStack> list = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            list.add(getInventory().getItem(index));
         }
         return list;
     }
 
+    public int getSlotCount(VehicleInventoryDescription.SlotType slotType) {
+        return getInventoryDescription().getSlotIndices(slotType).length;
+    }
+
+    /**
+     * The live stack in the i-th slot of the given type
+     */
+    public ItemStack getSlotItem(VehicleInventoryDescription.SlotType slotType, int i) {
+        return getInventory().getItem(getInventoryDescription().getSlotIndices(slotType)[i]);
+    }
+
+    public boolean hasSlotItems(VehicleInventoryDescription.SlotType slotType) {
+        for (int index : getInventoryDescription().getSlotIndices(slotType)) {
+            if (!getInventory().getItem(index).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     //todo cache?
     public float getTotalUpgrade(AircraftStat stat) {
         float value = 0.0f;
-        List<ItemStack> upgrades = getSlots(VehicleInventoryDescription.SlotType.UPGRADE);
+        int[] upgrades = getInventoryDescription().getSlotIndices(VehicleInventoryDescription.SlotType.UPGRADE);
         for (int step = 0; step < 2; step++) {
-            for (ItemStack stack : upgrades) {
+            for (int index : upgrades) {
+                ItemStack stack = getInventory().getItem(index);
                 AircraftUpgrade upgrade = AircraftUpgradeRegistry.INSTANCE.getUpgrade(stack.getItem());
                 if (upgrade != null) {
                     float u = upgrade.get(stat);
@@ -94,11 +121,41 @@ public abstract class InventoryVehicleEntity extends VehicleEntity implements Co
     protected void initInventory() {
         this.inventory = new SparseSimpleInventory(getInventoryDescription().getInventorySize());
         this.inventory.addListener(this);
+
+        this.weapons = new Weapon[getSlotCount(VehicleInventoryDescription.SlotType.WEAPON)][];
+        Arrays.fill(this.weapons, NO_WEAPONS);
     }
 
     @Override
     public void containerChanged(Container sender) {
+        wakeUp();
+        weaponsChanged = true;
+    }
 
+    /**
+     * Recreates the weapons of all weapon slots whose stack changed
+     */
+    private void updateWeapons() {
+        int[] slots = getInventoryDescription().getSlotIndices(VehicleInventoryDescription.SlotType.WEAPON);
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            ItemStack weaponItemStack = inventory.getItem(slot);
+            Weapon[] weapon = weapons[i];
+
+            if (weaponItemStack.isEmpty()) {
+                weapons[i] = NO_WEAPONS;
+            } else if (weapon.length == 0 || weapon[0].getStack() != weaponItemStack) {
+                WeaponRegistry.WeaponConstructor constructor = WeaponRegistry.get(weaponItemStack);
+                if (constructor != null) {
+                    List<WeaponMount> weaponMounts = getWeaponMounts(slot);
+                    weapon = new Weapon[weaponMounts.size()];
+                    for (int m = 0; m < weapon.length; m++) {
+                        weapon[m] = constructor.create(this, weaponItemStack, weaponMounts.get(m), slot);
+                    }
+                    weapons[i] = weapon;
+                }
+            }
+        }
     }
 
     @Override
@@ -174,7 +231,9 @@ public abstract class InventoryVehicleEntity extends VehicleEntity implements Co
     public void boost() {
         super.boost();
 
-        getSlots(VehicleInventoryDescription.SlotType.BOOSTER).forEach(s -> s.shrink(1));
+        for (int index : getInventoryDescription().getSlotIndices(VehicleInventoryDescription.SlotType.BOOSTER)) {
+            getInventory().getItem(index).shrink(1);
+        }
     }
 
     @Override
@@ -182,51 +241,46 @@ public abstract class InventoryVehicleEntity extends VehicleEntity implements Co
         super.applyBoost();
 
         // boost
-        Vec3 direction = getForwardDirection();
+        loadVelocity();
+        updateDirections();
         float thrust = 0.05f * getBoost() / 100.0f;
-        setDeltaMovement(getDeltaMovement().add(direction.scale(thrust)));
+        velocityX += forwardX * thrust;
+        velocityY += forwardY * thrust;
+        velocityZ += forwardZ * thrust;
+        storeVelocity();
 
         // particles
         if (tickCount % 2 == 0) {
-            Vec3 p = position();
-            Vec3 velocity = getDeltaMovement().subtract(direction);
-            level.addParticle(ParticleTypes.FIREWORK, p.x(), p.y(), p.z(), velocity.x, velocity.y, velocity.z);
+            ParticleBudget.addParticle(level, ParticleTypes.FIREWORK, ParticleBudget.Importance.NORMAL, getX(), getY(), getZ(), velocityX - forwardX, velocityY - forwardY, velocityZ - forwardZ);
         }
     }
 
     @Override
     public boolean canBoost() {
-        return getSlots(VehicleInventoryDescription.SlotType.BOOSTER).stream().anyMatch(v -> !v.isEmpty()) && getBoost() <= 0;
+        return hasSlotItems(VehicleInventoryDescription.SlotType.BOOSTER) && getBoost() <= 0;
     }
 
     @Override
     public void tick() {
-        inventory.tick(this);
+        if (isSleeping()) {
+            super.tick();
+            return;
+        }
 
-        // Check and recreate weapon slots
-        for (VehicleInventoryDescription.Slot slot : getInventoryDescription().getSlots(VehicleInventoryDescription.SlotType.WEAPON)) {
-            ItemStack weaponItemStack = getSlot(slot.index).get();
-            List<Weapon> weapon = weapons.get(slot.index);
+        inventory.tick(this);
 
-            if (weaponItemStack.isEmpty() && weapon != null) {
-                weapons.remove(slot.index);
-            } else if (!weaponItemStack.isEmpty() && (weapon == null || weapon.get(0).getStack() != weaponItemStack)) {
-                WeaponRegistry.WeaponConstructor constructor = WeaponRegistry.get(weaponItemStack);
-                if (constructor != null) {
-                    List<WeaponMount> weaponMounts = getWeaponMounts(slot.index);
-                    ArrayList<Weapon> weapons = new ArrayList<>(weaponMounts.size());
-                    for (WeaponMount weaponMount : weaponMounts) {
-                        weapons.add(constructor.create(this, weaponItemStack, weaponMount, slot.index));
-                    }
-                    this.weapons.put(slot.index, weapons);
-                }
+        if (weapons.length > 0) {
+            // Recreate weapons of changed slots
+            if (weaponsChanged) {
+                weaponsChanged = false;
+                updateWeapons();
             }
-        }
 
-        // Update weapons
-        for (List<Weapon> weapons : weapons.values()) {
-            for (Weapon w : weapons) {
-                w.tick();
+            // Update weapons
+            for (Weapon[] weapon : weapons) {
+                for (Weapon w : weapon) {
+                    w.tick();
+                }
             }
         }
 
@@ -243,7 +297,23 @@ public abstract class InventoryVehicleEntity extends VehicleEntity implements Co
         return SlotAccess.forContainer(inventory, slot);
     }
 
-    public Map<Integer, List<Weapon>> getWeapons() {
+    /**
+     * Mounted weapons per weapon slot, empty for slots without a weapon
+     */
+    public Weapon[][] getWeapons() {
         return weapons;
     }
+
+    /**
+     * Mounted weapons of the given inventory slot
+     */
+    public Weapon[] getWeapons(int slot) {
+        int[] slots = getInventoryDescription().getSlotIndices(VehicleInventoryDescription.SlotType.WEAPON);
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == slot) {
+                return weapons[i];
+            }
+        }
+        return NO_WEAPONS;
+    }
 }
@@ -51,12 +51,12 @@ public class QuadrocopterEntity extends Rotorcraft {
         return 5;
     }
 
-    protected SoundEvent getEngineSound() {
+    public SoundEvent getEngineSound() {
         return Sounds.PROPELLER_TINY.get();
     }
 
     @Override
-    protected float getEnginePitch() {
+    public float getEnginePitch() {
         return 1.0f;
     }
 
@@ -111,14 +111,18 @@ public class QuadrocopterEntity extends Rotorcraft {
 
         setEngineTarget(1.0f);
 
-        // up and down
-        setDeltaMovement(getDeltaMovement().add(0.0f, getEnginePower() * properties.getVerticalSpeed() * pressingInterpolatedY.getSmooth(), 0.0f));
+        loadVelocity();
+        updateDirections();
 
-        // get pointing direction
-        Vec3 direction = getForwardDirection();
+        // up and down
+        velocityY += getEnginePower() * properties.getVerticalSpeed() * pressingInterpolatedY.getSmooth();
 
         // accelerate
         float thrust = (float) (Math.pow(getEnginePower(), 5.0) * properties.getEngineSpeed()) * pressingInterpolatedZ.getSmooth();
-        setDeltaMovement(getDeltaMovement().add(direction.scale(thrust)));
+        velocityX += forwardX * thrust;
+        velocityY += forwardY * thrust;
+        velocityZ += forwardZ * thrust;
+
+        storeVelocity();
     }
 }
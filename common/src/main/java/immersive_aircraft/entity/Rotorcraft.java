@@ -3,7 +3,6 @@ package immersive_aircraft.entity;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.Vec3;
 
 public abstract class Rotorcraft extends EngineAircraft {
     public Rotorcraft(EntityType<? extends AircraftEntity> entityType, Level world, boolean canExplodeOnCrash) {
@@ -11,25 +10,19 @@ public abstract class Rotorcraft extends EngineAircraft {
     }
 
     @Override
-    public Vec3 getForwardDirection() {
-        return new Vec3(
-                Mth.sin(-getYRot() * ((float) Math.PI / 180)),
-                0.0,
-                Mth.cos(getYRot() * ((float) Math.PI / 180))
-        ).normalize();
+    protected void updateDirections() {
+        super.updateDirections();
+
+        // rotorcraft move along the horizon
+        float yaw = getYRot() * Mth.DEG_TO_RAD;
+        forwardX = -Mth.sin(yaw);
+        forwardY = 0.0;
+        forwardZ = Mth.cos(yaw);
     }
 
     @Override
-    protected void convertPower(Vec3 direction) {
-        Vec3 velocity = getDeltaMovement().multiply(1.0f, 0.0f, 1.0f);
-        double drag = Math.abs(direction.dot(velocity.normalize()));
-        Vec3 newVelocity = velocity.normalize()
-                .lerp(direction, getProperties().getLift())
-                .scale(velocity.length() * (drag * getProperties().getDriftDrag() + (1.0 - getProperties().getDriftDrag())));
-        setDeltaMovement(
-                newVelocity.x,
-                getDeltaMovement().y,
-                newVelocity.z
-        );
+    protected boolean isPowerHorizontal() {
+        // only the horizontal velocity is converted
+        return true;
     }
 }
@@ -13,6 +13,8 @@ import immersive_aircraft.config.Config;
 import immersive_aircraft.network.c2s.CollisionMessage;
 import immersive_aircraft.network.c2s.CommandMessage;
 import immersive_aircraft.util.InterpolatedFloat;
+import immersive_aircraft.util.ParticleBudget;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.BlockUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -58,16 +60,71 @@ import java.util.List;
 public abstract class VehicleEntity extends Entity {
     private static final EntityDataAccessor<Float> DATA_HEALTH = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.FLOAT);
 
-    protected static final EntityDataAccessor<Integer> DAMAGE_WOBBLE_TICKS = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.INT);
+    // Countdowns are synced once as their start game tick, both sides derive the current value from it
+    protected static final EntityDataAccessor<Integer> DAMAGE_WOBBLE_START = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.INT);
     protected static final EntityDataAccessor<Integer> DAMAGE_WOBBLE_SIDE = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.INT);
     protected static final EntityDataAccessor<Float> DAMAGE_WOBBLE_STRENGTH = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.FLOAT);
 
     protected final boolean canExplodeOnCrash;
 
-    protected static final EntityDataAccessor<Integer> BOOST = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.INT);
+    protected static final EntityDataAccessor<Integer> BOOST_START = SynchedEntityData.defineId(VehicleEntity.class, EntityDataSerializers.INT);
+
+    private static final int NEVER = Integer.MIN_VALUE;
+    private static final int DAMAGE_WOBBLE_TICKS = 10;
+    private static final int BOOST_TICKS = 100;
 
     protected int interpolationSteps;
 
+    // Resting, unoccupied vehicles fall asleep and skip physics and entity scans until woken up
+    private static final int SLEEP_DELAY = 100;
+    private int restingTicks;
+    private boolean sleeping;
+
+    // Unoccupied vehicles far away from players are only stepped every few ticks
+    private static final int FULL_RATE_DISTANCE = 64;
+    private static final int MAX_TICK_INTERVAL = 8;
+    private int tickInterval = 1;
+
+    // integrator state, velocity is loaded from and stored back into the delta movement
+    protected double velocityX;
+    protected double velocityY;
+    protected double velocityZ;
+
+    // quantized rotations, 256 steps per full turn
+    private static final int QUANTIZATION = 256;
+    private static final float[] QUANTIZED_SIN = new float[QUANTIZATION];
+    private static final float[] QUANTIZED_COS = new float[QUANTIZATION];
+
+    static {
+        for (int i = 0; i < QUANTIZATION; i++) {
+            double angle = Math.PI * 2.0 * i / QUANTIZATION;
+            QUANTIZED_SIN[i] = (float) Math.sin(angle);
+            QUANTIZED_COS[i] = (float) Math.cos(angle);
+        }
+    }
+
+    private final float[] rotated = new float[3];
+
+    // world space seats for the current passenger count, position and up axis per seat, rebuilt at most once per tick and pose
+    private final Reference2IntOpenHashMap<Entity> seatIndices = new Reference2IntOpenHashMap<>();
+    private double[] seats = new double[0];
+    private int seatsTick = -1;
+    private int seatsCount = -1;
+    private double seatsX;
+    private double seatsY;
+    private double seatsZ;
+    private float seatsYaw;
+    private float seatsPitch;
+    private float seatsRoll;
+
+    // direction vectors, refreshed by updateDirections()
+    protected double forwardX;
+    protected double forwardY;
+    protected double forwardZ;
+    protected double topX;
+    protected double topY;
+    protected double topZ;
+
     protected double x;
     protected double y;
     protected double z;
@@ -128,7 +185,7 @@ public abstract class VehicleEntity extends Entity {
     }
 
     public void boost() {
-        entityData.set(BOOST, 100);
+        entityData.set(BOOST_START, getTime());
     }
 
     protected void applyBoost() {
@@ -140,7 +197,22 @@ public abstract class VehicleEntity extends Entity {
     }
 
     public int getBoost() {
-        return entityData.get(BOOST);
+        return Math.max(0, BOOST_TICKS - getTicksSince(entityData.get(BOOST_START)));
+    }
+
+    private int getTime() {
+        return (int) level.getGameTime();
+    }
+
+    /**
+     * Ticks passed since the given start tick, wrapping safely
+     */
+    private int getTicksSince(int start) {
+        if (start == NEVER) {
+            return Integer.MAX_VALUE;
+        }
+        // the client clock may run slightly behind the server's
+        return Math.max(0, getTime() - start);
     }
 
     protected abstract List<List<Vec3>> getPassengerPositions();
@@ -176,11 +248,11 @@ public abstract class VehicleEntity extends Entity {
 
     @Override
     protected void defineSynchedData() {
-        entityData.define(DAMAGE_WOBBLE_TICKS, 0);
+        entityData.define(DAMAGE_WOBBLE_START, NEVER);
         entityData.define(DAMAGE_WOBBLE_SIDE, 1);
         entityData.define(DAMAGE_WOBBLE_STRENGTH, 0.0f);
         entityData.define(DATA_HEALTH, 1.0f);
-        entityData.define(BOOST, 0);
+        entityData.define(BOOST_START, NEVER);
     }
 
     @Override
@@ -218,6 +290,8 @@ public abstract class VehicleEntity extends Entity {
             return false;
         }
 
+        wakeUp();
+
         if (level.isClientSide || isRemoved()) {
             return true;
         }
@@ -228,9 +302,8 @@ public abstract class VehicleEntity extends Entity {
             return true;
         }
 
-        setDamageWobbleSide(-getDamageWobbleSide());
-        setDamageWobbleTicks(10);
-        setDamageWobbleStrength(getDamageWobbleStrength() + amount * 5.0f / getDurability() / (1.0f + getDamageWobbleStrength() * 0.05f));
+        float strength = getDamageWobbleStrength();
+        startDamageWobble(strength + amount * 5.0f / getDurability() / (1.0f + strength * 0.05f));
 
         gameEvent(GameEvent.ENTITY_DAMAGE, source.getEntity());
 
@@ -252,16 +325,17 @@ public abstract class VehicleEntity extends Entity {
             setHealth(0);
 
             // Drop stuff if enabled
-            if (level.getGameRules().getBoolean(GameRules.RULE_DOENTITYDROPS) && Config.getInstance().enableDropsForNonPlayer) {
+            Config config = Config.getInstance();
+            if (level.getGameRules().getBoolean(GameRules.RULE_DOENTITYDROPS) && config.enableDropsForNonPlayer) {
                 drop();
             }
 
             // Explode if destroyed by force
-            if (force && canExplodeOnCrash && Config.getInstance().enableCrashExplosion) {
+            if (force && canExplodeOnCrash && config.enableCrashExplosion) {
                 getLevel().explode(this, getX(), getY(), getZ(),
-                        Config.getInstance().crashExplosionRadius,
-                        Config.getInstance().enableCrashFire,
-                        Config.getInstance().enableCrashBlockDestruction ? Explosion.BlockInteraction.BREAK : Explosion.BlockInteraction.NONE);
+                        config.crashExplosionRadius,
+                        config.enableCrashFire,
+                        config.enableCrashBlockDestruction ? Explosion.BlockInteraction.BREAK : Explosion.BlockInteraction.NONE);
             }
 
             discard();
@@ -286,7 +360,7 @@ public abstract class VehicleEntity extends Entity {
 
     @Override
     public void onAboveBubbleCol(boolean drag) {
-        level.addParticle(ParticleTypes.SPLASH, getX() + (double) random.nextFloat(), getY() + 0.7, getZ() + (double) random.nextFloat(), 0.0, 0.0, 0.0);
+        ParticleBudget.addParticle(level, ParticleTypes.SPLASH, ParticleBudget.Importance.NORMAL, getX() + (double) random.nextFloat(), getY() + 0.7, getZ() + (double) random.nextFloat(), 0.0, 0.0, 0.0);
         if (random.nextInt(20) == 0) {
             level.playLocalSound(getX(), getY(), getZ(), getSwimSplashSound(), getSoundSource(), 1.0f, 0.8f + 0.4f * random.nextFloat(), false);
         }
@@ -330,9 +404,8 @@ public abstract class VehicleEntity extends Entity {
 
     @Override
     public void animateHurt() {
-        setDamageWobbleSide(-getDamageWobbleSide());
-        setDamageWobbleTicks(10);
-        setDamageWobbleStrength(getDamageWobbleStrength() * 11.0f);
+        wakeUp();
+        startDamageWobble(getDamageWobbleStrength() * 11.0f);
     }
 
     @Override
@@ -342,6 +415,10 @@ public abstract class VehicleEntity extends Entity {
 
     @Override
     public void lerpTo(double x, double y, double z, float yaw, float pitch, int interpolationSteps, boolean interpolate) {
+        if (sleeping && (distanceToSqr(x, y, z) > 1.0e-4 || Math.abs(Mth.wrapDegrees(yaw - getYRot())) > 0.1f)) {
+            wakeUp();
+        }
+
         this.x = x;
         this.y = y;
         this.z = z;
@@ -366,46 +443,184 @@ public abstract class VehicleEntity extends Entity {
         return false;
     }
 
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    public void wakeUp() {
+        sleeping = false;
+        restingTicks = 0;
+    }
+
+    protected boolean canSleep() {
+        return onGround && !isVehicle() && getDeltaMovement().lengthSqr() < 1.0e-6 && getBoost() <= 0 && getDamageWobbleTicks() <= 0;
+    }
+
+    @Override
+    public void setDeltaMovement(Vec3 velocity) {
+        super.setDeltaMovement(velocity);
+
+        // pushed, knocked back or launched
+        if (sleeping && velocity.lengthSqr() > 1.0e-6) {
+            wakeUp();
+        }
+    }
+
+    @Override
+    protected void addPassenger(Entity passenger) {
+        super.addPassenger(passenger);
+        wakeUp();
+        tickInterval = 1;
+        updateSeatIndices();
+    }
+
+    @Override
+    protected void removePassenger(Entity passenger) {
+        super.removePassenger(passenger);
+        updateSeatIndices();
+    }
+
+    private void updateSeatIndices() {
+        seatIndices.clear();
+        List<Entity> passengers = getPassengers();
+        for (int i = 0; i < passengers.size(); i++) {
+            seatIndices.put(passengers.get(i), i);
+        }
+    }
+
+    /**
+     * Transforms the seats of the current passenger count into world space, unless already done for this tick and pose
+     */
+    private void updateSeats(int count) {
+        if (seatsTick == tickCount && seatsCount == count
+                && seatsX == getX() && seatsY == getY() && seatsZ == getZ()
+                && seatsYaw == getYRot() && seatsPitch == getXRot() && seatsRoll == getRoll()) {
+            return;
+        }
+        seatsTick = tickCount;
+        seatsCount = count;
+        seatsX = getX();
+        seatsY = getY();
+        seatsZ = getZ();
+        seatsYaw = getYRot();
+        seatsPitch = getXRot();
+        seatsRoll = getRoll();
+
+        List<List<Vec3>> positions = getPassengerPositions();
+        if (count > positions.size()) {
+            seats = new double[0];
+            return;
+        }
+
+        List<Vec3> layout = positions.get(count - 1);
+        if (seats.length != layout.size() * 6) {
+            seats = new double[layout.size() * 6];
+        }
+
+        Matrix4f transform = getVehicleTransform();
+        Vector4f p = new Vector4f();
+        for (int i = 0; i < layout.size(); i++) {
+            Vec3 position = layout.get(i);
+            p.set((float) position.x, (float) position.y, (float) position.z, 1.0f);
+            p.transform(transform);
+            seats[i * 6] = p.x();
+            seats[i * 6 + 1] = p.y();
+            seats[i * 6 + 2] = p.z();
+
+            // the riding offset is applied along the vehicle's up axis
+            p.set((float) position.x, (float) position.y + 1.0f, (float) position.z, 1.0f);
+            p.transform(transform);
+            seats[i * 6 + 3] = p.x() - seats[i * 6];
+            seats[i * 6 + 4] = p.y() - seats[i * 6 + 1];
+            seats[i * 6 + 5] = p.z() - seats[i * 6 + 2];
+        }
+    }
+
+    protected boolean isSteppedEveryTick() {
+        return level.isClientSide || isVehicle() || getBoost() > 0 || tickInterval == 1;
+    }
+
+    /**
+     * Doubles the interval between physics steps with every doubling of the distance to the nearest player
+     */
+    private int getTickInterval() {
+        if (level.isClientSide || isVehicle() || getBoost() > 0) {
+            return 1;
+        }
+
+        if ((tickCount + getId()) % 20 == 0) {
+            Player player = level.getNearestPlayer(this, -1.0);
+            double distance = player == null ? Double.MAX_VALUE : player.distanceToSqr(this);
+            int interval = 1;
+            double range = FULL_RATE_DISTANCE;
+            while (interval < MAX_TICK_INTERVAL && distance > range * range) {
+                interval *= 2;
+                range *= 2;
+            }
+            tickInterval = interval;
+        }
+        return tickInterval;
+    }
+
     @Override
     public void tick() {
+        if (sleeping) {
+            super.tick();
+
+            // the ground below might have been removed
+            if (tickCount % 20 == 0 && level.noCollision(this, getBoundingBox().move(0.0, -0.1, 0.0))) {
+                wakeUp();
+            }
+            return;
+        }
+
         // pilot
         if (level.isClientSide() && !getPassengers().isEmpty()) {
             tickPilot();
         }
 
-        // wobble
-        if (getDamageWobbleTicks() > 0) {
-            setDamageWobbleTicks(getDamageWobbleTicks() - 1);
-        }
-        if (getDamageWobbleStrength() > 0.0f) {
-            setDamageWobbleStrength(getDamageWobbleStrength() - 1.0f);
-        }
-
         super.tick();
 
         // interpolate
         handleClientSync();
 
+        // skip physics and scans between steps of far away vehicles
+        int interval = getTickInterval();
+        if (interval > 1 && (tickCount + getId()) % interval != 0) {
+            return;
+        }
 
         int boost = getBoost();
-        if (boost > 0) {
-            entityData.set(BOOST, boost - 1);
-        }
 
         // if it's the right side, update the velocity
         if (isControlledByLocalInstance()) {
-            updateVelocity();
+            if (interval > 1) {
+                // catch up on the skipped ticks and move only once
+                double dx = 0.0;
+                double dy = 0.0;
+                double dz = 0.0;
+                for (int i = 0; i < interval; i++) {
+                    updateVelocity();
+                    Vec3 velocity = getDeltaMovement();
+                    dx += velocity.x;
+                    dy += velocity.y;
+                    dz += velocity.z;
+                }
+                move(MoverType.SELF, new Vec3(dx, dy, dz));
+            } else {
+                updateVelocity();
 
-            // boost
-            if (boost > 0) {
-                applyBoost();
-            }
+                // boost
+                if (boost > 0) {
+                    applyBoost();
+                }
 
-            if (level.isClientSide) {
-                updateController();
-            }
+                if (level.isClientSide) {
+                    updateController();
+                }
 
-            move(MoverType.SELF, getDeltaMovement());
+                move(MoverType.SELF, getDeltaMovement());
+            }
         }
 
         // auto enter
@@ -430,6 +645,16 @@ public abstract class VehicleEntity extends Entity {
             pressingInterpolatedY.update(movementY);
             pressingInterpolatedZ.update(movementZ);
         }
+
+        // fall asleep after resting for a while
+        if (canSleep()) {
+            restingTicks += interval;
+            if (restingTicks >= SLEEP_DELAY) {
+                sleeping = true;
+            }
+        } else {
+            restingTicks = 0;
+        }
     }
 
     private void tickPilot() {
@@ -509,35 +734,23 @@ public abstract class VehicleEntity extends Entity {
             return;
         }
 
-        Matrix4f transform = getVehicleTransform();
+        int size = getPassengers().size();
+        updateSeats(size);
 
-        int size = getPassengers().size() - 1;
-        List<List<Vec3>> positions = getPassengerPositions();
-        if (size < positions.size()) {
-            int i = getPassengers().indexOf(passenger);
-            if (i >= 0 && i < positions.get(size).size()) {
-                Vec3 position = positions.get(size).get(i);
-
-                //animals are thicc
-                if (passenger instanceof Animal) {
-                    position.add(0.0f, 0.0f, 0.2f);
-                }
-
-                position = position.add(0, passenger.getMyRidingOffset(), 0);
-
-                Vector4f worldPosition = transformPosition(transform, (float) position.x, (float) position.y, (float) position.z);
-
-                passenger.setPos(worldPosition.x(), worldPosition.y(), worldPosition.z());
+        int i = seatIndices.getOrDefault(passenger, -1);
+        if (i >= 0 && i * 6 < seats.length) {
+            int seat = i * 6;
+            double offset = passenger.getMyRidingOffset();
+            passenger.setPos(seats[seat] + seats[seat + 3] * offset, seats[seat + 1] + seats[seat + 4] * offset, seats[seat + 2] + seats[seat + 5] * offset);
 
-                passenger.setYRot(passenger.getYRot() + (getYRot() - yRotO));
-                passenger.setYHeadRot(passenger.getYHeadRot() + (getYRot() - yRotO));
+            passenger.setYRot(passenger.getYRot() + (getYRot() - yRotO));
+            passenger.setYHeadRot(passenger.getYHeadRot() + (getYRot() - yRotO));
 
-                copyEntityData(passenger);
-                if (passenger instanceof Animal animalEntity && size > 1) {
-                    int angle = passenger.getId() % 2 == 0 ? 90 : 270;
-                    passenger.setYBodyRot(animalEntity.yBodyRot + (float) angle);
-                    passenger.setYHeadRot(passenger.getYHeadRot() + (float) angle);
-                }
+            copyEntityData(passenger);
+            if (passenger instanceof Animal animalEntity && size > 2) {
+                int angle = passenger.getId() % 2 == 0 ? 90 : 270;
+                passenger.setYBodyRot(animalEntity.yBodyRot + (float) angle);
+                passenger.setYHeadRot(passenger.getYHeadRot() + (float) angle);
             }
         }
     }
@@ -614,6 +827,8 @@ public abstract class VehicleEntity extends Entity {
 
     @Override
     public InteractionResult interact(Player player, InteractionHand hand) {
+        wakeUp();
+
         if (getHealth() < 1.0f) {
             repair(0.025f);
 
@@ -623,7 +838,7 @@ public abstract class VehicleEntity extends Entity {
                     double x = center.x + shape.getXsize() * (random.nextDouble() - 0.5) * 1.5;
                     double y = center.y + shape.getYsize() * (random.nextDouble() - 0.5) * 1.5;
                     double z = center.z + shape.getZsize() * (random.nextDouble() - 0.5) * 1.5;
-                    this.level.addParticle(ParticleTypes.COMPOSTER, x, y, z, 0, random.nextDouble(), 0);
+                    ParticleBudget.addParticle(level, ParticleTypes.COMPOSTER, ParticleBudget.Importance.HIGH, x, y, z, 0, random.nextDouble(), 0);
                 }
             }
 
@@ -675,24 +890,22 @@ public abstract class VehicleEntity extends Entity {
 
     }
 
-    public void setDamageWobbleStrength(float wobbleStrength) {
-        entityData.set(DAMAGE_WOBBLE_STRENGTH, wobbleStrength);
+    /**
+     * Flips the wobble side and restarts the wobble, strength and remaining ticks then decay by one per tick
+     */
+    public void startDamageWobble(float strength) {
+        entityData.set(DAMAGE_WOBBLE_SIDE, -getDamageWobbleSide());
+        entityData.set(DAMAGE_WOBBLE_STRENGTH, strength);
+        entityData.set(DAMAGE_WOBBLE_START, getTime());
     }
 
     public float getDamageWobbleStrength() {
-        return entityData.get(DAMAGE_WOBBLE_STRENGTH);
-    }
-
-    public void setDamageWobbleTicks(int wobbleTicks) {
-        entityData.set(DAMAGE_WOBBLE_TICKS, wobbleTicks);
+        int ticks = getTicksSince(entityData.get(DAMAGE_WOBBLE_START));
+        return ticks == Integer.MAX_VALUE ? 0.0f : Math.max(0.0f, entityData.get(DAMAGE_WOBBLE_STRENGTH) - ticks);
     }
 
     public int getDamageWobbleTicks() {
-        return entityData.get(DAMAGE_WOBBLE_TICKS);
-    }
-
-    public void setDamageWobbleSide(int side) {
-        entityData.set(DAMAGE_WOBBLE_SIDE, side);
+        return Math.max(0, DAMAGE_WOBBLE_TICKS - getTicksSince(entityData.get(DAMAGE_WOBBLE_START)));
     }
 
     public int getDamageWobbleSide() {
@@ -749,7 +962,8 @@ public abstract class VehicleEntity extends Entity {
     }
 
     protected Vector3f transformVectorQuantized(float x, float y, float z) {
-        return transformVector(getVehicleNormalTransformQuantized(), x, y, z);
+        rotateQuantized(x, y, z, rotated);
+        return new Vector3f(rotated[0], rotated[1], rotated[2]);
     }
 
     protected Vector3f transformVector(Matrix3f transform, float x, float y, float z) {
@@ -766,16 +980,43 @@ public abstract class VehicleEntity extends Entity {
         return transform;
     }
 
-    private float quantize(float value) {
-        int floor = Mth.floor(value * 256.0f / 360.0f);
-        return (floor * 360) / 256.0f;
+    private static int quantize(float value) {
+        return Mth.floor(value * QUANTIZATION / 360.0f) & (QUANTIZATION - 1);
+    }
+
+    /**
+     * Rotates a vector by the vehicle's rotation quantized to 256 steps per axis, using only table lookups, into target
+     */
+    public void rotateQuantized(float x, float y, float z, float[] target) {
+        int yaw = quantize(getYRot());
+        int pitch = quantize(getXRot());
+        int roll = quantize(getRoll());
+        float sy = QUANTIZED_SIN[yaw];
+        float cy = QUANTIZED_COS[yaw];
+        float sp = QUANTIZED_SIN[pitch];
+        float cp = QUANTIZED_COS[pitch];
+        float sr = QUANTIZED_SIN[roll];
+        float cr = QUANTIZED_COS[roll];
+
+        // roll, then pitch, then yaw
+        float x1 = x * cr - y * sr;
+        float y1 = x * sr + y * cr;
+        float y2 = y1 * cp - z * sp;
+        float z2 = y1 * sp + z * cp;
+        target[0] = x1 * cy - z2 * sy;
+        target[1] = y2;
+        target[2] = x1 * sy + z2 * cy;
     }
 
     public Matrix3f getVehicleNormalTransformQuantized() {
-        Matrix3f transform = Matrix3f.createScaleMatrix(1.0f, 1.0f, 1.0f);
-        transform.mul(Vector3f.YP.rotationDegrees(-quantize(getYRot())));
-        transform.mul(Vector3f.XP.rotationDegrees(quantize(getXRot())));
-        transform.mul(Vector3f.ZP.rotationDegrees(quantize(getRoll())));
+        float[] column = new float[3];
+        Matrix3f transform = new Matrix3f();
+        for (int j = 0; j < 3; j++) {
+            rotateQuantized(j == 0 ? 1.0f : 0.0f, j == 1 ? 1.0f : 0.0f, j == 2 ? 1.0f : 0.0f, column);
+            for (int i = 0; i < 3; i++) {
+                transform.set(i, j, column[i]);
+            }
+        }
         return transform;
     }
 
@@ -787,18 +1028,50 @@ public abstract class VehicleEntity extends Entity {
         return transform;
     }
 
+    protected void loadVelocity() {
+        Vec3 velocity = getDeltaMovement();
+        velocityX = velocity.x;
+        velocityY = velocity.y;
+        velocityZ = velocity.z;
+    }
+
+    protected void storeVelocity() {
+        setDeltaMovement(velocityX, velocityY, velocityZ);
+    }
+
+    /**
+     * Computes the forward and top directions of the vehicle's rotation directly, without building a transform
+     */
+    protected void updateDirections() {
+        float yaw = getYRot() * Mth.DEG_TO_RAD;
+        float pitch = getXRot() * Mth.DEG_TO_RAD;
+        float roll = getRoll() * Mth.DEG_TO_RAD;
+        float sy = Mth.sin(yaw);
+        float cy = Mth.cos(yaw);
+        float sp = Mth.sin(pitch);
+        float cp = Mth.cos(pitch);
+        float sr = Mth.sin(roll);
+        float cr = Mth.cos(roll);
+
+        forwardX = -cp * sy;
+        forwardY = -sp;
+        forwardZ = cp * cy;
+
+        topX = -sr * cy - cr * sp * sy;
+        topY = cr * cp;
+        topZ = -sr * sy + cr * sp * cy;
+    }
+
     public Vec3 getForwardDirection() {
-        Vector3f f = transformVector(0.0f, 0.0f, 1.0f);
-        return new Vec3(f.x(), f.y(), f.z());
+        updateDirections();
+        return new Vec3(forwardX, forwardY, forwardZ);
     }
 
     public Vec3 getTopDirection() {
-        Vector3f f = transformVector(0.0f, 1.0f, 0.0f);
-        return new Vec3(f.x(), f.y(), f.z());
+        updateDirections();
+        return new Vec3(topX, topY, topZ);
     }
 
-    protected static final Vector4f ZERO_VEC4 = new Vector4f();
-
     @Override
     public boolean shouldRenderAtSqrDistance(double distance) {
         double d = Config.getInstance().renderDistance * getViewScale();
@@ -810,12 +1083,15 @@ public abstract class VehicleEntity extends Entity {
     }
 
     public boolean isValidDimension() {
-        return Config.getInstance().validDimensions.getOrDefault(this.level.dimension().location().toString(), true);
+        return Config.getInstance().isDimensionValid(this.level.dimension().location());
     }
 
     protected AABB getOffsetBoundingBox(double xzSize, double ySize, float x, float y, float z) {
-        Vector3f center = transformVectorQuantized(x, y, z);
-        return new AABB(center.x() - xzSize / 2.0 + getX(), center.y() - ySize / 2.0 + getY(), center.z() - xzSize / 2.0 + getZ(), center.x() + xzSize / 2.0 + getX(), center.y() + ySize / 2.0 + getY(), center.z() + xzSize / 2.0 + getZ());
+        rotateQuantized(x, y, z, rotated);
+        double cx = rotated[0] + getX();
+        double cy = rotated[1] + getY();
+        double cz = rotated[2] + getZ();
+        return new AABB(cx - xzSize / 2.0, cy - ySize / 2.0, cz - xzSize / 2.0, cx + xzSize / 2.0, cy + ySize / 2.0, cz + xzSize / 2.0);
     }
 
     public List<AABB> getAdditionalShapes() {
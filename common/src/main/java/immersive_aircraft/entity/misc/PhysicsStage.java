@@ -0,0 +1,215 @@
+package immersive_aircraft.entity.misc;
+
+import immersive_aircraft.entity.AircraftEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Integrates the flight velocity of all server controlled aircraft of a level in parallel, once per tick before the first of them ticks.
+ * Inputs are gathered into flat buffers on the main thread and only the arithmetic runs on the common pool.
+ * Each aircraft applies its result, including rotation changes, within its own tick on the main thread.
+ */
+public class PhysicsStage {
+    private static final Map<Level, PhysicsStage> STAGES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // below this, forking costs more than it saves
+    private static final int MIN_BATCH = 16;
+
+    // aircraft loaded into the level, maintained by the aircraft themselves
+    private final Set<AircraftEntity> aircraft = new HashSet<>();
+
+    private long lastUpdate = Long.MIN_VALUE;
+    private AircraftEntity[] batch = new AircraftEntity[64];
+    private final Buffers buffers = new Buffers(64);
+
+    private static PhysicsStage get(ServerLevel level) {
+        return STAGES.computeIfAbsent(level, l -> new PhysicsStage());
+    }
+
+    public static void register(ServerLevel level, AircraftEntity aircraft) {
+        get(level).aircraft.add(aircraft);
+    }
+
+    public static void unregister(ServerLevel level, AircraftEntity aircraft) {
+        PhysicsStage stage = STAGES.get(level);
+        if (stage != null) {
+            stage.aircraft.remove(aircraft);
+        }
+    }
+
+    public static void prepare(ServerLevel level) {
+        get(level).run(level);
+    }
+
+    private void run(ServerLevel level) {
+        long time = level.getGameTime();
+        if (time == lastUpdate) {
+            return;
+        }
+        lastUpdate = time;
+
+        // pick
+        int count = 0;
+        for (Iterator<AircraftEntity> iterator = aircraft.iterator(); iterator.hasNext(); ) {
+            AircraftEntity entity = iterator.next();
+            if (entity.isRemoved()) {
+                iterator.remove();
+            } else if (entity.canIntegrateConcurrently() && level.isPositionEntityTicking(entity.blockPosition())) {
+                if (count == batch.length) {
+                    batch = Arrays.copyOf(batch, count * 2);
+                }
+                batch[count++] = entity;
+            }
+        }
+
+        if (count >= MIN_BATCH) {
+            // gather on the main thread
+            buffers.ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                batch[i].gatherFlight(buffers, i, time);
+            }
+
+            // integrate
+            ForkJoinPool.commonPool().submit(() -> IntStream.range(0, buffers.size).parallel().forEach(buffers::integrate)).join();
+        }
+
+        // don't keep entities alive
+        Arrays.fill(batch, 0, count, null);
+    }
+
+    /**
+     * Flight integration state of several aircraft, one array per quantity
+     */
+    public static class Buffers {
+        private int size;
+
+        // velocity, integrated in place
+        public double[] velocityX;
+        public double[] velocityY;
+        public double[] velocityZ;
+
+        // forward direction
+        public double[] forwardX;
+        public double[] forwardY;
+        public double[] forwardZ;
+
+        // glide per unit of horizontal flight, zero when not gliding
+        public double[] glide;
+
+        public double[] lift;
+        public double[] driftDrag;
+        public boolean[] horizontal;
+
+        public float[] decay;
+        public float[] gravity;
+        public float[] horizontalDelay;
+        public float[] verticalDelay;
+
+        // filtered wind effect, only applied while airborne
+        public float[] windX;
+        public float[] windZ;
+        public boolean[] airborne;
+
+        public Buffers(int capacity) {
+            allocate(capacity);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void ensureCapacity(int capacity) {
+            if (velocityX.length < capacity) {
+                allocate(Math.max(capacity, velocityX.length * 2));
+            }
+            size = capacity;
+        }
+
+        private void allocate(int capacity) {
+            size = capacity;
+            velocityX = new double[capacity];
+            velocityY = new double[capacity];
+            velocityZ = new double[capacity];
+            forwardX = new double[capacity];
+            forwardY = new double[capacity];
+            forwardZ = new double[capacity];
+            glide = new double[capacity];
+            lift = new double[capacity];
+            driftDrag = new double[capacity];
+            horizontal = new boolean[capacity];
+            decay = new float[capacity];
+            gravity = new float[capacity];
+            horizontalDelay = new float[capacity];
+            verticalDelay = new float[capacity];
+            windX = new float[capacity];
+            windZ = new float[capacity];
+            airborne = new boolean[capacity];
+        }
+
+        /**
+         * Pure arithmetic on the i-th entry, safe to run concurrently for different entries
+         */
+        public void integrate(int i) {
+            double vx = velocityX[i];
+            double vy = velocityY[i];
+            double vz = velocityZ[i];
+            double fx = forwardX[i];
+            double fy = forwardY[i];
+            double fz = forwardZ[i];
+
+            // glide
+            double g = glide[i] * (1.0 - Math.abs(fy));
+            vx += fx * g;
+            vy += fy * g;
+            vz += fz * g;
+
+            // convert power, turning the velocity towards the forward direction
+            double drift = driftDrag[i];
+            if (horizontal[i]) {
+                double length = Math.sqrt(vx * vx + vz * vz);
+                double nx = length < 1.0E-4 ? 0.0 : vx / length;
+                double nz = length < 1.0E-4 ? 0.0 : vz / length;
+                double drag = Math.abs(fx * nx + fz * nz);
+                double scale = length * (drag * drift + (1.0 - drift));
+                vx = (nx + (fx - nx) * lift[i]) * scale;
+                vz = (nz + (fz - nz) * lift[i]) * scale;
+            } else {
+                double length = Math.sqrt(vx * vx + vy * vy + vz * vz);
+                double nx = length < 1.0E-4 ? 0.0 : vx / length;
+                double ny = length < 1.0E-4 ? 0.0 : vy / length;
+                double nz = length < 1.0E-4 ? 0.0 : vz / length;
+                double drag = Math.abs(fx * nx + fy * ny + fz * nz);
+                double scale = length * (drag * drift + (1.0 - drift));
+                vx = (nx + (fx - nx) * lift[i]) * scale;
+                vy = (ny + (fy - ny) * lift[i]) * scale;
+                vz = (nz + (fz - nz) * lift[i]) * scale;
+            }
+
+            // friction
+            vx = vx * decay[i] * horizontalDelay[i];
+            vy = vy * decay[i] * verticalDelay[i] + gravity[i];
+            vz = vz * decay[i] * horizontalDelay[i];
+
+            // wind
+            if (airborne[i]) {
+                float offsetStrength = 0.005f;
+                vx += windX[i] * offsetStrength;
+                vz += windZ[i] * offsetStrength;
+            }
+
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+            velocityZ[i] = vz;
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package immersive_aircraft.entity.misc;
 
-import com.mojang.math.Vector4f;
 import immersive_aircraft.config.Config;
+import immersive_aircraft.entity.VehicleEntity;
+import net.minecraft.util.Mth;
 
+/**
+ * A trail records a compact pose sample per tick and only expands them into ribbon edges once it is actually rendered.
+ * The ribbon edge is a line through the emitter origin, spinning around the local z-axis by the sampled angle.
+ */
 public class Trail {
+    // x, y, z, yaw, pitch, roll, spin, alpha
+    private static final int STRIDE = 8;
+
+    private final float[] samples;
+
+    // first edge point, second edge point, alpha
     public final float[] buffer;
     public final int size;
     public final float gray;
@@ -11,17 +22,36 @@ public class Trail {
     public int entries;
     public int nullEntries;
 
+    private int expandedEntries;
+
+    private float originX, originY, originZ;
+    private float halfX, halfY, halfZ;
+
     public Trail(int length) {
         this(length, 1.0f);
     }
 
     public Trail(int length, float gray) {
+        samples = new float[STRIDE * length];
         buffer = new float[7 * length];
         size = length;
         this.gray = gray;
     }
 
-    public void add(Vector4f first, Vector4f second, float alpha) {
+    /**
+     * Sets the local emitter, a line from origin - half to origin + half
+     */
+    public Trail setEmitter(float x, float y, float z, float halfX, float halfY, float halfZ) {
+        this.originX = x;
+        this.originY = y;
+        this.originZ = z;
+        this.halfX = halfX;
+        this.halfY = halfY;
+        this.halfZ = halfZ;
+        return this;
+    }
+
+    public void add(VehicleEntity vehicle, float spin, float alpha) {
         if (!Config.getInstance().enableTrails) {
             return;
         }
@@ -33,17 +63,73 @@ public class Trail {
         }
 
         if (nullEntries < size) {
-            int i = lastIndex * 7;
-            buffer[i] = first.x();
-            buffer[i + 1] = first.y();
-            buffer[i + 2] = first.z();
-            buffer[i + 3] = second.x();
-            buffer[i + 4] = second.y();
-            buffer[i + 5] = second.z();
-            buffer[i + 6] = alpha;
+            int i = lastIndex * STRIDE;
+            samples[i] = (float) vehicle.getX();
+            samples[i + 1] = (float) vehicle.getY();
+            samples[i + 2] = (float) vehicle.getZ();
+            samples[i + 3] = vehicle.getYRot();
+            samples[i + 4] = vehicle.getXRot();
+            samples[i + 5] = vehicle.getRoll();
+            samples[i + 6] = spin;
+            samples[i + 7] = Math.max(0.0f, alpha);
         }
 
         lastIndex = (lastIndex + 1) % size;
         entries++;
     }
+
+    public void addEmpty(VehicleEntity vehicle) {
+        add(vehicle, 0.0f, 0.0f);
+    }
+
+    /**
+     * Expands all samples recorded since the last call into the buffer
+     */
+    public void expand() {
+        for (int e = Math.max(expandedEntries, entries - size); e < entries; e++) {
+            expand(e % size);
+        }
+        expandedEntries = entries;
+    }
+
+    private void expand(int index) {
+        int s = index * STRIDE;
+        float spin = samples[s + 6] * Mth.DEG_TO_RAD;
+        float sin = Mth.sin(spin);
+        float cos = Mth.cos(spin);
+
+        // spin the emitter around its local z-axis
+        float hx = halfX * cos - halfY * sin;
+        float hy = halfX * sin + halfY * cos;
+
+        int b = index * 7;
+        transform(s, originX - hx, originY - hy, originZ - halfZ, b);
+        transform(s, originX + hx, originY + hy, originZ + halfZ, b + 3);
+        buffer[b + 6] = samples[s + 7];
+    }
+
+    // same as the vehicle transform, roll, then pitch, then yaw and translation
+    private void transform(int s, float x, float y, float z, int b) {
+        float roll = samples[s + 5] * Mth.DEG_TO_RAD;
+        float sin = Mth.sin(roll);
+        float cos = Mth.cos(roll);
+        float x1 = x * cos - y * sin;
+        float y1 = x * sin + y * cos;
+
+        float pitch = samples[s + 4] * Mth.DEG_TO_RAD;
+        sin = Mth.sin(pitch);
+        cos = Mth.cos(pitch);
+        float y2 = y1 * cos - z * sin;
+        float z2 = y1 * sin + z * cos;
+
+        float yaw = -samples[s + 3] * Mth.DEG_TO_RAD;
+        sin = Mth.sin(yaw);
+        cos = Mth.cos(yaw);
+        float x3 = x1 * cos + z2 * sin;
+        float z3 = -x1 * sin + z2 * cos;
+
+        buffer[b] = samples[s] + x3;
+        buffer[b + 1] = samples[s + 1] + y2;
+        buffer[b + 2] = samples[s + 2] + z3;
+    }
 }
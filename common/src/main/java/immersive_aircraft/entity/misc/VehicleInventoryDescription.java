@@ -2,8 +2,8 @@ package immersive_aircraft.entity.misc;
 
 import immersive_aircraft.util.Rect2iCommon;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.LinkedList;
 import java.util.List;
 
 public class VehicleInventoryDescription {
@@ -11,7 +11,7 @@ public class VehicleInventoryDescription {
     int lastIndex = 0;
     int lastSyncIndex = 0;
 
-    final List<Rect2iCommon> rectangles = new LinkedList<>();
+    List<Rect2iCommon> rectangles = new ArrayList<>();
 
     public enum SlotType {
         INVENTORY,
@@ -37,11 +37,15 @@ public class VehicleInventoryDescription {
     }
 
     EnumMap<SlotType, List<Slot>> slotMap = new EnumMap<>(SlotType.class);
-    final List<Slot> slots = new LinkedList<>();
+    List<Slot> slots = new ArrayList<>();
+
+    // compiled by build(), inventory indices per slot type
+    private final int[][] slotIndices = new int[SlotType.values().length][];
 
     {
         for (SlotType value : SlotType.values()) {
-            slotMap.put(value, new LinkedList<>());
+            slotMap.put(value, new ArrayList<>());
+            slotIndices[value.ordinal()] = new int[0];
         }
     }
 
@@ -57,6 +61,13 @@ public class VehicleInventoryDescription {
         return slotMap.get(type);
     }
 
+    /**
+     * The inventory indices of all slots of the given type, in order. Shared, do not modify.
+     */
+    public int[] getSlotIndices(SlotType type) {
+        return slotIndices[type.ordinal()];
+    }
+
     public VehicleInventoryDescription addSlot(SlotType type, int x, int y) {
         Slot slot = new Slot(x, y, lastIndex++, type);
         slotMap.get(type).add(slot);
@@ -94,6 +105,20 @@ public class VehicleInventoryDescription {
                 height = Math.max(height, slot.y + 28);
             }
         }
+
+        // freeze
+        slots = List.copyOf(slots);
+        rectangles = List.copyOf(rectangles);
+        for (SlotType type : SlotType.values()) {
+            List<Slot> typed = List.copyOf(slotMap.get(type));
+            slotMap.put(type, typed);
+
+            int[] indices = new int[typed.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = typed.get(i).index;
+            }
+            slotIndices[type.ordinal()] = indices;
+        }
         return this;
     }
 
@@ -0,0 +1,113 @@
+package immersive_aircraft.entity.misc;
+
+import com.mojang.math.Vector3f;
+import immersive_aircraft.config.Config;
+import immersive_aircraft.util.Utils;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+
+/**
+ * Wind shared by all aircraft of a level. A small grid of wind directions tiled across the world is updated at most once per tick,
+ * together with the weather dependent strength, and aircraft sample it with bilinear interpolation.
+ */
+public class WindField {
+    private static final Map<Level, WindField> FIELDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final int CELLS = 8;
+    private static final float CELL_SIZE = 64.0f;
+
+    // wind is weaker close to the ground and reaches its full strength this high above sea level
+    private static final float ALTITUDE_RANGE = 64.0f;
+    private static final float GROUND_STRENGTH = 0.5f;
+
+    // fixed, so that both sides agree on the field
+    private static final long SEED = 0x57494E44L;
+
+    // per cell phase offsets of the x and z noise
+    private final float[] phases = new float[CELLS * CELLS * 2];
+
+    // per cell wind direction, x and z
+    private final float[] cells = new float[CELLS * CELLS * 2];
+
+    private long lastUpdate = Long.MIN_VALUE;
+    private float strength;
+    private float gust;
+    private int seaLevel;
+
+    private WindField() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = random.nextFloat() * 100.0f;
+        }
+    }
+
+    /**
+     * The wind field of a level, brought up to date with the current tick
+     */
+    public static WindField get(Level level) {
+        WindField field = FIELDS.computeIfAbsent(level, l -> new WindField());
+        field.update(level);
+        return field;
+    }
+
+    private synchronized void update(Level level) {
+        long time = level.getGameTime();
+        if (time == lastUpdate) {
+            return;
+        }
+        lastUpdate = time;
+        seaLevel = level.getSeaLevel();
+
+        // weather
+        Config config = Config.getInstance();
+        strength = config.windClearWeather + level.getRainLevel(0.0f) * config.windRainWeather + level.getThunderLevel(0.0f) * config.windThunderWeather;
+        gust = 1.0f + 0.25f * Math.max(0.0f, (float) Utils.cosNoise(time / 50.0, 2));
+
+        // directions
+        for (int i = 0; i < cells.length; i += 2) {
+            cells[i] = (float) Utils.cosNoise(time / 20.0 + phases[i]);
+            cells[i + 1] = (float) Utils.cosNoise(time / 21.0 + phases[i + 1]);
+        }
+    }
+
+    /**
+     * The weather dependent base strength of the wind
+     */
+    public float getStrength() {
+        return strength;
+    }
+
+    /**
+     * Samples the wind direction at the given position into target, scaled by gusts and altitude, y is always zero
+     */
+    public Vector3f sample(double x, double y, double z, Vector3f target) {
+        float fx = (float) (x / CELL_SIZE);
+        float fz = (float) (z / CELL_SIZE);
+        int x0 = Mth.floor(fx);
+        int z0 = Mth.floor(fz);
+        float dx = fx - x0;
+        float dz = fz - z0;
+
+        int a = index(x0, z0);
+        int b = index(x0 + 1, z0);
+        int c = index(x0, z0 + 1);
+        int d = index(x0 + 1, z0 + 1);
+
+        float altitude = Mth.clamp((float) (y - seaLevel) / ALTITUDE_RANGE, 0.0f, 1.0f);
+        float scale = gust * Mth.lerp(altitude, GROUND_STRENGTH, 1.0f);
+
+        float wx = Mth.lerp(dz, Mth.lerp(dx, cells[a], cells[b]), Mth.lerp(dx, cells[c], cells[d]));
+        float wz = Mth.lerp(dz, Mth.lerp(dx, cells[a + 1], cells[b + 1]), Mth.lerp(dx, cells[c + 1], cells[d + 1]));
+        target.set(wx * scale, 0.0f, wz * scale);
+        return target;
+    }
+
+    private static int index(int x, int z) {
+        return (Math.floorMod(x, CELLS) + Math.floorMod(z, CELLS) * CELLS) * 2;
+    }
+}
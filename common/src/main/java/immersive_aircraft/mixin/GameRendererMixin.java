@@ -3,6 +3,7 @@ package immersive_aircraft.mixin;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.math.Quaternion;
 import com.mojang.math.Vector3f;
+import immersive_aircraft.client.render.entity.ParallelVertexGenerator;
 import immersive_aircraft.entity.AircraftEntity;
 import net.minecraft.client.Camera;
 import net.minecraft.client.renderer.GameRenderer;
@@ -22,6 +23,8 @@ public class GameRendererMixin {
 
     @Inject(method = "renderLevel", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/Camera;setup(Lnet/minecraft/world/level/BlockGetter;Lnet/minecraft/world/entity/Entity;ZZF)V"))
     public void renderWorld(float tickDelta, long limitTime, PoseStack matrices, CallbackInfo ci) {
+        ParallelVertexGenerator.beginFrame();
+
         Entity entity = mainCamera.getEntity();
         if (!mainCamera.isDetached() && entity != null && entity.getRootVehicle() instanceof AircraftEntity aircraft) {
             // rotate camera
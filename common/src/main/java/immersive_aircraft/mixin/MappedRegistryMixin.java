@@ -0,0 +1,18 @@
+package immersive_aircraft.mixin;
+
+import immersive_aircraft.util.FuelTable;
+import net.minecraft.core.MappedRegistry;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.Map;
+
+@Mixin(MappedRegistry.class)
+public class MappedRegistryMixin {
+    @Inject(method = "bindTags", at = @At("TAIL"))
+    public void ia$injectBindTags(Map<?, ?> map, CallbackInfo ci) {
+        FuelTable.invalidate();
+    }
+}
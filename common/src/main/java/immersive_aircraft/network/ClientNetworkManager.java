@@ -6,6 +6,7 @@ import immersive_aircraft.network.s2c.FireResponse;
 import immersive_aircraft.network.s2c.InventoryUpdateMessage;
 import immersive_aircraft.network.s2c.OpenGuiRequest;
 import immersive_aircraft.screen.VehicleScreenHandler;
+import immersive_aircraft.util.ParticleBudget;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.particles.ParticleTypes;
@@ -52,7 +53,7 @@ public class ClientNetworkManager implements NetworkManager {
             double r = 0.1;
             for (int t = 0; t < 2; ++t) {
                 for (int i = 0; i < 5; ++i) {
-                    level.addParticle(t == 0 ? ParticleTypes.SMALL_FLAME : ParticleTypes.SMOKE,
+                    ParticleBudget.addParticle(level, t == 0 ? ParticleTypes.SMALL_FLAME : ParticleTypes.SMOKE, ParticleBudget.Importance.HIGH,
                             fireResponse.x, fireResponse.y, fireResponse.z,
                             fireResponse.vx + (random.nextDouble() - 0.5) * r,
                             fireResponse.vy + (random.nextDouble() - 0.5) * r,
@@ -36,7 +36,7 @@ public class FireMessage extends Message {
     @Override
     public void receive(Player e) {
         if (e.getVehicle() instanceof InventoryVehicleEntity vehicle) {
-            for (Weapon weapon : vehicle.getWeapons().get(slot)) {
+            for (Weapon weapon : vehicle.getWeapons(slot)) {
                 weapon.fire(direction);
             }
         }
@@ -0,0 +1,194 @@
+package immersive_aircraft.resources;
+
+import com.google.common.hash.Hashing;
+import immersive_aircraft.Main;
+import immersive_aircraft.util.obj.Builder;
+import immersive_aircraft.util.obj.Mesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Compiled meshes stored on disk, keyed by the content hash of their source file and the parser version.
+ * <p>
+ * Layout, little endian: magic, version, object count, then per object its name, vertex count and index count,
+ * followed by all vertex floats and then all quad indices, in object order.
+ */
+public class MeshCache {
+    private static final int MAGIC = 0x4D434149; // "IACM"
+    private static final int VERSION = 1;
+
+    private final Path directory;
+
+    public MeshCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static String hash(byte[] content) {
+        // a new parser version produces new keys, leaving stale entries unused
+        return Hashing.sha256().newHasher()
+                .putInt(Builder.VERSION)
+                .putBytes(content)
+                .hash().toString();
+    }
+
+    private Path getPath(String hash) {
+        return directory.resolve(hash + ".mesh");
+    }
+
+    /**
+     * A named object range within a cache entry
+     */
+    public static class Entry {
+        public final String name;
+        private final long vertexOffset;
+        private final int vertexCount;
+        private final long indexOffset;
+        private final int indexCount;
+
+        Entry(String name, long vertexOffset, int vertexCount, long indexOffset, int indexCount) {
+            this.name = name;
+            this.vertexOffset = vertexOffset;
+            this.vertexCount = vertexCount;
+            this.indexOffset = indexOffset;
+            this.indexCount = indexCount;
+        }
+
+        public int getSize() {
+            return (vertexCount * Mesh.STRIDE + indexCount) * 4;
+        }
+    }
+
+    /**
+     * Reads only the object table of a cache entry, or null if there is no valid entry
+     */
+    public Entry[] loadIndex(String hash) {
+        Path path = getPath(hash);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unknown format");
+            }
+
+            int count = buffer.getInt();
+            String[] names = new String[count];
+            int[] vertexCounts = new int[count];
+            int[] indexCounts = new int[count];
+            long vertexFloats = 0;
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+                vertexCounts[i] = buffer.getInt();
+                indexCounts[i] = buffer.getInt();
+                vertexFloats += (long) vertexCounts[i] * Mesh.STRIDE;
+            }
+
+            // vertices of all objects come first, then all indices
+            Entry[] entries = new Entry[count];
+            long vertexOffset = buffer.position();
+            long indexOffset = vertexOffset + vertexFloats * 4;
+            for (int i = 0; i < count; i++) {
+                entries[i] = new Entry(names[i], vertexOffset, vertexCounts[i], indexOffset, indexCounts[i]);
+                vertexOffset += (long) vertexCounts[i] * Mesh.STRIDE * 4;
+                indexOffset += (long) indexCounts[i] * 4;
+            }
+            if (indexOffset != size) {
+                throw new IOException("Truncated");
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            Main.LOGGER.warn("Discarding broken mesh cache entry {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Maps and reads a single object of a cache entry
+     */
+    public Mesh loadMesh(String hash, Entry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(getPath(hash), StandardOpenOption.READ)) {
+            float[] vertices = new float[entry.vertexCount * Mesh.STRIDE];
+            channel.map(FileChannel.MapMode.READ_ONLY, entry.vertexOffset, vertices.length * 4L)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer()
+                    .get(vertices);
+
+            int[] quads = new int[entry.indexCount];
+            channel.map(FileChannel.MapMode.READ_ONLY, entry.indexOffset, quads.length * 4L)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer()
+                    .get(quads);
+
+            return new Mesh(vertices, quads);
+        }
+    }
+
+    public void store(String hash, Map<String, Mesh> meshes) {
+        Path path = getPath(hash);
+        try {
+            Files.createDirectories(directory);
+
+            // header
+            byte[][] names = new byte[meshes.size()][];
+            Mesh[] objects = new Mesh[meshes.size()];
+            int size = 12;
+            int i = 0;
+            for (Map.Entry<String, Mesh> entry : meshes.entrySet()) {
+                names[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                objects[i] = entry.getValue();
+                size += 10 + names[i].length + (objects[i].vertices.length + objects[i].quads.length) * 4;
+                i++;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(objects.length);
+            for (i = 0; i < objects.length; i++) {
+                buffer.putShort((short) names[i].length);
+                buffer.put(names[i]);
+                buffer.putInt(objects[i].getVertexCount());
+                buffer.putInt(objects[i].quads.length);
+            }
+
+            // data
+            for (Mesh mesh : objects) {
+                buffer.asFloatBuffer().put(mesh.vertices);
+                buffer.position(buffer.position() + mesh.vertices.length * 4);
+            }
+            for (Mesh mesh : objects) {
+                buffer.asIntBuffer().put(mesh.quads);
+                buffer.position(buffer.position() + mesh.quads.length * 4);
+            }
+            buffer.flip();
+
+            // write to a temporary file first, so a crash never leaves a half written entry
+            Path temp = Files.createTempFile(directory, hash, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Main.LOGGER.warn("Failed to write mesh cache entry {}: {}", path, e.getMessage());
+        }
+    }
+}
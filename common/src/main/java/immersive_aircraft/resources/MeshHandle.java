@@ -0,0 +1,71 @@
+package immersive_aircraft.resources;
+
+import immersive_aircraft.util.obj.Mesh;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A mesh reference which is resolved once and only rebound after the ObjectLoader reloaded, the mesh data itself may be loaded on demand.
+ * Not thread safe, resolve handles on the render thread.
+ */
+public class MeshHandle {
+    private final ResourceLocation id;
+    private final String object;
+
+    private int generation = -1;
+    private ResidentMesh mesh;
+
+    public MeshHandle(ResourceLocation id, String object) {
+        this.id = id;
+        this.object = object;
+    }
+
+    public Mesh get() {
+        if (generation != ObjectLoader.getGeneration()) {
+            Map<String, ResidentMesh> meshes = ObjectLoader.getObjects().get(id);
+            mesh = meshes == null ? null : meshes.get(object);
+            generation = ObjectLoader.getGeneration();
+        }
+        return mesh == null ? null : mesh.get();
+    }
+
+    public ResourceLocation getId() {
+        return id;
+    }
+
+    public String getObject() {
+        return object;
+    }
+
+    /**
+     * Numbered objects like banner_0, banner_1, ..., handles are created on first use only
+     */
+    public static class Sequence {
+        private final ResourceLocation id;
+        private final String prefix;
+
+        private MeshHandle[] handles = new MeshHandle[0];
+
+        public Sequence(ResourceLocation id, String prefix) {
+            this.id = id;
+            this.prefix = prefix;
+        }
+
+        public MeshHandle getHandle(int index) {
+            if (index >= handles.length) {
+                int size = handles.length;
+                handles = Arrays.copyOf(handles, index + 1);
+                for (int i = size; i < handles.length; i++) {
+                    handles[i] = new MeshHandle(id, prefix + i);
+                }
+            }
+            return handles[index];
+        }
+
+        public Mesh get(int index) {
+            return getHandle(index).get();
+        }
+    }
+}
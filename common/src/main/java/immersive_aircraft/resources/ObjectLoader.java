@@ -3,41 +3,91 @@ package immersive_aircraft.resources;
 import immersive_aircraft.Main;
 import immersive_aircraft.util.obj.Builder;
 import immersive_aircraft.util.obj.Mesh;
+import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
-public class ObjectLoader extends SimplePreparableReloadListener<Map<ResourceLocation, Resource>> {
+/**
+ * Indexes all objects concurrently while preparing the reload, compiling them into the mesh cache where needed.
+ * Mesh data itself is only read once requested, applying only swaps in the finished index.
+ */
+public class ObjectLoader extends SimplePreparableReloadListener<Map<ResourceLocation, Map<String, ResidentMesh>>> {
     protected static final ResourceLocation ID = Main.locate("objects");
 
-    public final static Map<ResourceLocation, Map<String, Mesh>> objects = new HashMap<>();
+    private static volatile Map<ResourceLocation, Map<String, ResidentMesh>> objects = Map.of();
 
-    @Override
-    protected Map<ResourceLocation, Resource> prepare(ResourceManager manager, ProfilerFiller profiler) {
-        return manager.listResources("objects", n -> n.getPath().endsWith(".obj"));
+    // Incremented on every reload, so that resolved mesh handles know when to rebind
+    private static volatile int generation = 0;
+
+    public static Map<ResourceLocation, Map<String, ResidentMesh>> getObjects() {
+        return objects;
+    }
+
+    public static Mesh getMesh(ResourceLocation id, String object) {
+        Map<String, ResidentMesh> meshes = objects.get(id);
+        ResidentMesh mesh = meshes == null ? null : meshes.get(object);
+        return mesh == null ? null : mesh.get();
+    }
+
+    public static int getGeneration() {
+        return generation;
     }
 
     @Override
-    protected void apply(Map<ResourceLocation, Resource> o, ResourceManager manager, ProfilerFiller profiler) {
-        objects.clear();
-        o.forEach((id, res) -> {
-            try {
-                InputStream stream = res.open();
-                Map<String, Mesh> faces = new Builder(new BufferedReader(new InputStreamReader(stream))).objects;
-                ResourceLocation newId = new ResourceLocation(id.getNamespace(), id.getPath());
-                objects.put(newId, faces);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    protected Map<ResourceLocation, Map<String, ResidentMesh>> prepare(ResourceManager manager, ProfilerFiller profiler) {
+        Map<ResourceLocation, Resource> resources = manager.listResources("objects", n -> n.getPath().endsWith(".obj"));
+        MeshCache cache = new MeshCache(Minecraft.getInstance().gameDirectory.toPath().resolve("cache/immersive_aircraft/meshes"));
+        return ForkJoinPool.commonPool().submit(() -> resources.entrySet().parallelStream().collect(Collectors.toUnmodifiableMap(
+                e -> new ResourceLocation(e.getKey().getNamespace(), e.getKey().getPath()),
+                e -> load(cache, e.getValue())
+        ))).join();
+    }
+
+    private static Map<String, ResidentMesh> load(MeshCache cache, Resource resource) {
+        try (InputStream stream = resource.open()) {
+            byte[] content = stream.readAllBytes();
+
+            // Only parse if there is no compiled version of this exact file yet
+            String hash = MeshCache.hash(content);
+            MeshCache.Entry[] entries = cache.loadIndex(hash);
+            if (entries == null) {
+                Map<String, Mesh> meshes = new Builder(new ByteArrayInputStream(content)).objects;
+                cache.store(hash, meshes);
+                entries = cache.loadIndex(hash);
+
+                // Without a cache the meshes have to stay in memory
+                if (entries == null) {
+                    Map<String, ResidentMesh> pinned = new HashMap<>();
+                    meshes.forEach((name, mesh) -> pinned.put(name, new ResidentMesh(mesh)));
+                    return Map.copyOf(pinned);
+                }
+            }
+
+            Map<String, ResidentMesh> meshes = new HashMap<>();
+            for (MeshCache.Entry entry : entries) {
+                meshes.put(entry.name, new ResidentMesh(cache, hash, entry));
             }
-        });
+            return Map.copyOf(meshes);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void apply(Map<ResourceLocation, Map<String, ResidentMesh>> o, ResourceManager manager, ProfilerFiller profiler) {
+        objects = o;
+        ResidentMesh.reset();
+        generation++;
     }
 }
@@ -0,0 +1,126 @@
+package immersive_aircraft.resources;
+
+import immersive_aircraft.Main;
+import immersive_aircraft.config.Config;
+import immersive_aircraft.util.obj.Mesh;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A mesh which is only read from the mesh cache once requested, and evicted again after it has not been used for a while.
+ * Meshes without a cache entry are pinned in memory.
+ */
+public class ResidentMesh {
+    private static final List<ResidentMesh> resident = new ArrayList<>();
+    private static long residentBytes;
+    private static int clock;
+
+    private final MeshCache cache;
+    private final String hash;
+    private final MeshCache.Entry entry;
+
+    private volatile Mesh mesh;
+    private volatile int lastUsed;
+
+    public ResidentMesh(MeshCache cache, String hash, MeshCache.Entry entry) {
+        this.cache = cache;
+        this.hash = hash;
+        this.entry = entry;
+    }
+
+    public ResidentMesh(Mesh mesh) {
+        this.cache = null;
+        this.hash = null;
+        this.entry = null;
+        this.mesh = mesh;
+    }
+
+    public Mesh get() {
+        lastUsed = clock;
+        Mesh mesh = this.mesh;
+        return mesh == null ? load() : mesh;
+    }
+
+    private Mesh load() {
+        // loading and evicting share one lock, so the resident list and byte count always agree
+        synchronized (resident) {
+            if (mesh == null) {
+                try {
+                    mesh = cache.loadMesh(hash, entry);
+                } catch (IOException e) {
+                    Main.LOGGER.error("Failed to load mesh {}: {}", entry.name, e.getMessage());
+                    mesh = new Mesh(new float[0], new int[0]);
+                }
+                resident.add(this);
+                residentBytes += entry.getSize();
+            }
+            return mesh;
+        }
+    }
+
+    /**
+     * Must be called while holding the resident lock
+     */
+    private void evict() {
+        mesh = null;
+        residentBytes -= entry.getSize();
+    }
+
+    public static long getResidentBytes() {
+        synchronized (resident) {
+            return residentBytes;
+        }
+    }
+
+    public static int getResidentCount() {
+        synchronized (resident) {
+            return resident.size();
+        }
+    }
+
+    /**
+     * Forgets all resident meshes after a reload
+     */
+    public static void reset() {
+        synchronized (resident) {
+            resident.clear();
+            residentBytes = 0;
+        }
+    }
+
+    /**
+     * Called once per client tick, evicts meshes idle for longer than the configured delay,
+     * and, while above the memory limit, the least recently used ones not used this tick
+     */
+    public static void tick() {
+        // evict before advancing, meshes drawn since the last tick carry the current clock
+        if (clock % 20 == 0) {
+            evictUnused();
+        }
+        clock++;
+    }
+
+    private static void evictUnused() {
+        int delay = Config.getInstance().meshEvictionDelay * 20;
+        long limit = Config.getInstance().meshMemoryLimit * 1024L * 1024L;
+        synchronized (resident) {
+            resident.removeIf(mesh -> {
+                if (clock - mesh.lastUsed > delay) {
+                    mesh.evict();
+                    return true;
+                }
+                return false;
+            });
+
+            if (residentBytes > limit) {
+                resident.sort(Comparator.comparingInt(mesh -> mesh.lastUsed));
+                while (residentBytes > limit && !resident.isEmpty() && resident.get(0).lastUsed != clock) {
+                    resident.remove(0).evict();
+                }
+            }
+        }
+    }
+}
@@ -21,7 +21,15 @@ public class UpgradeSlot extends Slot {
 
     @Override
     public boolean mayPlace(ItemStack stack) {
-        return AircraftUpgradeRegistry.INSTANCE.hasUpgrade(stack.getItem()) && vehicle.getSlots(SlotType.UPGRADE).stream().noneMatch(s -> s.getItem() == stack.getItem());
+        if (!AircraftUpgradeRegistry.INSTANCE.hasUpgrade(stack.getItem())) {
+            return false;
+        }
+        for (int i = 0; i < vehicle.getSlotCount(SlotType.UPGRADE); i++) {
+            if (vehicle.getSlotItem(SlotType.UPGRADE, i).getItem() == stack.getItem()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -0,0 +1,82 @@
+package immersive_aircraft.util;
+
+import immersive_aircraft.cobalt.registration.CobaltFuelRegistry;
+import immersive_aircraft.config.Config;
+import net.minecraft.core.Registry;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fuel times of all items, indexed by their raw registry id.
+ * Compiled from the config's fuel list and the loader's fuel registry, and rebuilt once the config changed or tags have been reloaded.
+ */
+public class FuelTable {
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    // client and server thread share the table in singleplayer, it is therefore only ever replaced as a whole
+    private static volatile Compiled compiled;
+
+    public static int get(ItemStack stack) {
+        return stack.isEmpty() ? 0 : get(stack.getItem());
+    }
+
+    public static int get(Item item) {
+        int[] times = getTimes();
+        int id = Registry.ITEM.getId(item);
+        return id >= 0 && id < times.length ? times[id] : 0;
+    }
+
+    /**
+     * Fuel times may depend on tags, called whenever those are rebound
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private static int[] getTimes() {
+        Config config = Config.getInstance();
+        Compiled compiled = FuelTable.compiled;
+        if (compiled == null || compiled.config != config || compiled.generation != generation.get()) {
+            // an invalidation during compiling bumps the generation again and causes another rebuild
+            int current = generation.get();
+            compiled = new Compiled(compile(config), config, current);
+            FuelTable.compiled = compiled;
+        }
+        return compiled.times;
+    }
+
+    private static int[] compile(Config config) {
+        int[] times = new int[Registry.ITEM.size()];
+        for (Item item : Registry.ITEM) {
+            int id = Registry.ITEM.getId(item);
+            if (id < 0 || id >= times.length) {
+                continue;
+            }
+
+            // Custom fuel
+            int time = config.getFuelTime(Registry.ITEM.getKey(item));
+
+            // Vanilla fuel
+            if (time < 0) {
+                time = config.acceptVanillaFuel && CobaltFuelRegistry.INSTANCE != null ? Math.max(0, CobaltFuelRegistry.INSTANCE.get(new ItemStack(item))) : 0;
+            }
+
+            times[id] = time;
+        }
+        return times;
+    }
+
+    private static class Compiled {
+        private final int[] times;
+        private final Config config;
+        private final int generation;
+
+        private Compiled(int[] times, Config config, int generation) {
+            this.times = times;
+            this.config = config;
+            this.generation = generation;
+        }
+    }
+}
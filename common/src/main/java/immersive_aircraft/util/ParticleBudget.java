@@ -0,0 +1,105 @@
+package immersive_aircraft.util;
+
+import immersive_aircraft.Main;
+import immersive_aircraft.config.Config;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.world.level.Level;
+
+/**
+ * Limits the particles aircraft effects spawn per client tick.
+ * Below half the budget everything spawns, above that particles get thinned out randomly, far and unimportant ones first.
+ */
+public class ParticleBudget {
+    public enum Importance {
+        // ambient effects like exhaust smoke
+        LOW(0.25f),
+        // effects like splashes or boosters
+        NORMAL(0.5f),
+        // direct feedback, like gunfire or repairs
+        HIGH(1.0f);
+
+        private final float weight;
+
+        Importance(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final float THINNING_START = 0.5f;
+    private static final double FALLOFF_DISTANCE_SQ = 32.0 * 32.0;
+
+    private static int spawned;
+    private static int dropped;
+
+    private static int lastSpawned;
+    private static int lastDropped;
+    private static long totalSpawned;
+    private static long totalDropped;
+
+    /**
+     * Called once per client tick, starts a new budget
+     */
+    public static void tick() {
+        lastSpawned = spawned;
+        lastDropped = dropped;
+        spawned = 0;
+        dropped = 0;
+    }
+
+    public static boolean addParticle(Level level, ParticleOptions particle, Importance importance, double x, double y, double z, double vx, double vy, double vz) {
+        if (!level.isClientSide || !request(level, importance, x, y, z)) {
+            return false;
+        }
+        level.addParticle(particle, x, y, z, vx, vy, vz);
+        return true;
+    }
+
+    /**
+     * Requests a single particle at the given position, returns false if it should be skipped
+     */
+    public static boolean request(Level level, Importance importance, double x, double y, double z) {
+        int budget = Config.getInstance().particleBudget;
+        if (spawned >= budget) {
+            return drop();
+        }
+
+        float pressure = (float) spawned / budget;
+        if (pressure > THINNING_START) {
+            double distance = Main.cameraGetter.getPosition().distanceToSqr(x, y, z);
+            float keep = (float) (importance.weight / (1.0 + distance / FALLOFF_DISTANCE_SQ));
+
+            // blend from keeping everything to only keeping the prioritized share as the budget runs out
+            float t = (pressure - THINNING_START) / (1.0f - THINNING_START);
+            float chance = 1.0f - (1.0f - keep) * t;
+            if (level.getRandom().nextFloat() > chance) {
+                return drop();
+            }
+        }
+
+        spawned++;
+        totalSpawned++;
+        return true;
+    }
+
+    private static boolean drop() {
+        dropped++;
+        totalDropped++;
+        return false;
+    }
+
+    public static int getSpawned() {
+        return lastSpawned;
+    }
+
+    public static int getDropped() {
+        return lastDropped;
+    }
+
+    public static long getTotalSpawned() {
+        return totalSpawned;
+    }
+
+    public static long getTotalDropped() {
+        return totalDropped;
+    }
+}
@@ -1,222 +1,366 @@
 package immersive_aircraft.util.obj;
 
-// This code was written by myself, Sean R. Owens, sean at guild dot net,
-// and is released to the public domain. Share and enjoy. Since some
-// people argue that it is impossible to release software to the public
-// domain, you are also free to use this code under any version of the
-// GPL, LPGL, Apache, or BSD licenses, or contact me for use of another
-// license.  (I generally don't care so I'll almost certainly say yes.)
-// In addition this code may also be used under the "unlicense" described
-// at http://unlicense.org/ .  See the file UNLICENSE in the repo.
-
-import java.io.BufferedReader;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import static java.util.logging.Level.SEVERE;
 
+/**
+ * A streaming OBJ parser working on raw bytes. Numbers are parsed in place, face corners are deduplicated per object
+ * by their packed (v, t, n) indices and written straight into the objects' vertex and quad arrays.
+ * Supports v (with optional vertex colors), vt, vn, f and o, everything else is ignored.
+ */
 public class Builder {
-    private final Logger log = Logger.getLogger(Builder.class.getName());
+    private static final Logger log = Logger.getLogger(Builder.class.getName());
+
+    /**
+     * Increment whenever the parser's output changes, it is part of the mesh cache's keys
+     */
+    public static final int VERSION = 2;
+
+    private static final int MAX_INDEX = (1 << 21) - 1;
+
+    private static final double[] POWERS_OF_TEN = new double[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    // x, y, z, r, g, b, a
+    private float[] positions = new float[7 * 256];
+    private int positionCount;
+
+    // u, v
+    private float[] textures = new float[2 * 256];
+    private int textureCount;
 
-    public static final int EMPTY_VERTEX_VALUE = Integer.MIN_VALUE;
+    // x, y, z
+    private float[] normals = new float[3 * 256];
+    private int normalCount;
 
-    // these accumulate each type of vertex as they are parsed, so they can then be referenced via index.
-    public final ArrayList<VertexPosition> verticesG = new ArrayList<>();
-    public final ArrayList<VertexColor> verticesC = new ArrayList<>();
-    public final ArrayList<VertexTexture> verticesT = new ArrayList<>();
-    public final ArrayList<VertexNormal> verticesN = new ArrayList<>();
-    final HashMap<String, FaceVertex> faceVertexMap = new HashMap<>();
-    public final ArrayList<FaceVertex> faceVertexList = new ArrayList<>();
+    private final Map<String, ObjectBuilder> builders = new HashMap<>();
+    private ObjectBuilder current;
 
     public final Map<String, Mesh> objects = new HashMap<>();
-    public String objectName = null;
     public int faceTriCount = 0;
     public int faceQuadCount = 0;
     public int facePolyCount = 0;
     public int faceErrorCount = 0;
 
-    private static final String OBJ_VERTEX_TEXTURE = "vt";
-    private static final String OBJ_VERTEX_NORMAL = "vn";
-    private static final String OBJ_VERTEX = "v";
-    private static final String OBJ_FACE = "f";
-    private static final String OBJ_OBJECT_NAME = "o";
+    // the current line and the cursor within
+    private byte[] line = new byte[256];
+    private int length;
+    private int cursor;
+
+    private final int[] corners = new int[3 * 16];
+
+    public Builder(InputStream stream) throws IOException {
+        byte[] chunk = new byte[65536];
+        int read;
+        while ((read = stream.read(chunk)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = chunk[i];
+                if (b == '\n' || b == '\r') {
+                    processLine();
+                    length = 0;
+                } else {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = b;
+                }
+            }
+        }
+        processLine();
+
+        builders.forEach((name, builder) -> objects.put(name, builder.build()));
+    }
 
-    public Builder(BufferedReader stream) throws IOException {
-        String line;
+    private void processLine() {
+        cursor = 0;
+        skipWhiteSpace();
+        if (cursor >= length) {
+            return;
+        }
+
+        byte first = line[cursor];
+        byte second = cursor + 1 < length ? line[cursor + 1] : (byte) ' ';
+        boolean separated = second == ' ' || second == '\t';
+        if (first == 'v' && separated) {
+            cursor++;
+            processVertex();
+        } else if (first == 'v' && second == 't') {
+            cursor += 2;
+            processVertexTexture();
+        } else if (first == 'v' && second == 'n') {
+            cursor += 2;
+            processVertexNormal();
+        } else if (first == 'f' && separated) {
+            cursor++;
+            processFace();
+        } else if (first == 'o' && separated) {
+            cursor++;
+            processObjectName();
+        }
+    }
+
+    private void processVertex() {
+        if (positionCount * 7 == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        int o = positionCount * 7;
+        for (int i = 0; i < 7; i++) {
+            positions[o + i] = parseFloat();
+        }
+        positionCount++;
+    }
 
+    private void processVertexTexture() {
+        if (textureCount * 2 == textures.length) {
+            textures = Arrays.copyOf(textures, textures.length * 2);
+        }
+        int o = textureCount * 2;
+        textures[o] = parseFloat();
+        textures[o + 1] = 1.0f - parseFloat();
+        textureCount++;
+    }
+
+    private void processVertexNormal() {
+        if (normalCount * 3 == normals.length) {
+            normals = Arrays.copyOf(normals, normals.length * 2);
+        }
+        int o = normalCount * 3;
+        normals[o] = parseFloat();
+        normals[o + 1] = parseFloat();
+        normals[o + 2] = parseFloat();
+        normalCount++;
+    }
+
+    private void processFace() {
+        int count = 0;
         while (true) {
-            line = stream.readLine();
-            if (null == line) {
+            skipWhiteSpace();
+            if (cursor >= length) {
                 break;
             }
 
-            line = line.trim();
+            // v, v/t, v//n or v/t/n, missing entries are -1
+            int v = resolve(parseInt(), positionCount);
+            int t = -1;
+            int n = -1;
+            if (cursor < length && line[cursor] == '/') {
+                cursor++;
+                if (cursor < length && line[cursor] != '/') {
+                    t = resolve(parseInt(), textureCount);
+                }
+                if (cursor < length && line[cursor] == '/') {
+                    cursor++;
+                    if (cursor < length && line[cursor] != ' ' && line[cursor] != '\t') {
+                        n = resolve(parseInt(), normalCount);
+                    }
+                }
+            }
 
-            if (line.length() == 0) {
-                continue;
+            if (v < 0) {
+                log.log(SEVERE, "Can't add vertex to face with missing vertex!  Throwing away face.");
+                faceErrorCount++;
+                return;
             }
 
-            if (line.startsWith(OBJ_VERTEX_TEXTURE)) {
-                processVertexTexture(line);
-            } else if (line.startsWith(OBJ_VERTEX_NORMAL)) {
-                processVertexNormal(line);
-            } else if (line.startsWith(OBJ_VERTEX)) {
-                processVertex(line);
-            } else if (line.startsWith(OBJ_FACE)) {
-                processFace(line);
-            } else if (line.startsWith(OBJ_OBJECT_NAME)) {
-                processObjectName(line);
+            if (count < corners.length / 3) {
+                corners[count * 3] = v;
+                corners[count * 3 + 1] = t;
+                corners[count * 3 + 2] = n;
             }
+            count++;
         }
-    }
 
-    private void processVertex(String line) {
-        float[] values = StringUtils.parseFloatList(7, line, OBJ_VERTEX.length());
-        addVertexGeometric(values[0], values[1], values[2]);
-        addVertexColor(values[3], values[4], values[5], values[6]);
-    }
+        if (current == null) {
+            addObjectName("unnamed");
+        }
 
-    private void processVertexTexture(String line) {
-        float[] values = StringUtils.parseFloatList(2, line, OBJ_VERTEX_TEXTURE.length());
-        addVertexTexture(values[0], 1.0f - values[1]);
+        // only quads are rendered
+        if (count == 4) {
+            for (int i = 0; i < 4; i++) {
+                current.addCorner(corners[i * 3], corners[i * 3 + 1], corners[i * 3 + 2]);
+            }
+            faceQuadCount++;
+        } else if (count == 3) {
+            faceTriCount++;
+        } else {
+            facePolyCount++;
+        }
     }
 
-    private void processVertexNormal(String line) {
-        float[] values = StringUtils.parseFloatList(3, line, OBJ_VERTEX_NORMAL.length());
-        addVertexNormal(values[0], values[1], values[2]);
+    private void processObjectName() {
+        skipWhiteSpace();
+        int end = length;
+        while (end > cursor && (line[end - 1] == ' ' || line[end - 1] == '\t')) {
+            end--;
+        }
+        addObjectName(new String(line, cursor, end - cursor, StandardCharsets.UTF_8));
     }
 
-    private void processFace(String line) {
-        line = line.substring(OBJ_FACE.length()).trim();
-        addFace(StringUtils.parseListVerticeNTuples(line, 3));
+    public void addObjectName(String name) {
+        current = builders.computeIfAbsent(name, n -> new ObjectBuilder());
     }
 
-    private void processObjectName(String line) {
-        addObjectName(line.substring(OBJ_OBJECT_NAME.length()).trim());
+    // converts a one-based, possibly relative index into a zero-based one, -1 if out of range
+    private int resolve(int index, int count) {
+        int i = index < 0 ? count + index : index - 1;
+        if (i < 0 || i >= count || i > MAX_INDEX) {
+            log.log(SEVERE, "Index " + index + " is out of the current range 1 to " + count + ", ignoring");
+            return -1;
+        }
+        return i;
     }
 
-    public void addVertexGeometric(float x, float y, float z) {
-        verticesG.add(new VertexPosition(x, y, z));
+    private void skipWhiteSpace() {
+        while (cursor < length && (line[cursor] == ' ' || line[cursor] == '\t')) {
+            cursor++;
+        }
     }
 
-    public void addVertexColor(float r, float g, float b, float a) {
-        verticesC.add(new VertexColor(r, g, b, a));
+    private int parseInt() {
+        boolean negative = false;
+        if (cursor < length && line[cursor] == '-') {
+            negative = true;
+            cursor++;
+        }
+        int value = 0;
+        while (cursor < length && line[cursor] >= '0' && line[cursor] <= '9') {
+            value = value * 10 + (line[cursor++] - '0');
+        }
+        return negative ? -value : value;
     }
 
-    public void addVertexTexture(float u, float v) {
-        verticesT.add(new VertexTexture(u, v));
-    }
+    // parses the next float, missing values are zero
+    private float parseFloat() {
+        skipWhiteSpace();
+        if (cursor >= length) {
+            return 0.0f;
+        }
 
-    public void addVertexNormal(float x, float y, float z) {
-        verticesN.add(new VertexNormal(x, y, z));
-    }
+        boolean negative = false;
+        if (line[cursor] == '-' || line[cursor] == '+') {
+            negative = line[cursor] == '-';
+            cursor++;
+        }
 
-    public void addFace(int[] vertexIndices) {
-        Face face = new Face();
-
-        int i = 0;
-        // @TODO: add better error checking - make sure values is not empty and that it is a multiple of 3
-        while (i < vertexIndices.length) {
-            // >     v is the vertex reference number for a point element. Each point
-            // >     element requires one vertex. Positive values indicate absolute
-            // >     vertex numbers. Negative values indicate relative vertex numbers.
-
-            FaceVertex fv = new FaceVertex();
-            //            log.log(INFO,"Adding vertex g=" + vertexIndices[i] + " t=" + vertexIndices[i + 1] + " n=" + vertexIndices[i + 2]);
-            int vertexIndex;
-            vertexIndex = vertexIndices[i++];
-            // Note that we can use negative references to denote vertices in manner relative to the current point in the file, i.e.
-            // rather than "the 5th vertex in the file" we can say "the 5th vertex before now"
-            if (vertexIndex < 0) {
-                vertexIndex = vertexIndex + verticesG.size();
-            }
-            if (((vertexIndex - 1) >= 0) && ((vertexIndex - 1) < verticesG.size())) {
-                // Note: vertex indices are 1-indexed, i.e. they start at
-                // one, so we offset by -1 for the 0-indexed array lists.
-                fv.v = verticesG.get(vertexIndex - 1);
-                fv.c = verticesC.get(vertexIndex - 1);
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        while (cursor < length && line[cursor] >= '0' && line[cursor] <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (line[cursor] - '0');
+                digits++;
             } else {
-                log.log(SEVERE, "Index for geometric vertex=" + vertexIndex + " is out of the current range of geometric vertex values 1 to " + verticesG.size() + ", ignoring");
+                exponent++;
             }
-
-            vertexIndex = vertexIndices[i++];
-            if (vertexIndex != EMPTY_VERTEX_VALUE) {
-                if (vertexIndex < 0) {
-                    // Note that we can use negative references to denote vertices in manner relative to the current point in the file, i.e.
-                    // rather than "the 5th vertex in the file" we can say "the 5th vertex before now"
-                    vertexIndex = vertexIndex + verticesT.size();
-                }
-                if (((vertexIndex - 1) >= 0) && ((vertexIndex - 1) < verticesT.size())) {
-                    // Note: vertex indices are 1-indexed, i.e. they start at
-                    // one, so we offset by -1 for the 0-indexed array lists.
-                    fv.t = verticesT.get(vertexIndex - 1);
-                } else {
-                    log.log(SEVERE, "Index for texture vertex=" + vertexIndex + " is out of the current range of texture vertex values 1 to " + verticesT.size() + ", ignoring");
+            cursor++;
+        }
+        if (cursor < length && line[cursor] == '.') {
+            cursor++;
+            while (cursor < length && line[cursor] >= '0' && line[cursor] <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (line[cursor] - '0');
+                    digits++;
+                    exponent--;
                 }
+                cursor++;
             }
-
-            vertexIndex = vertexIndices[i++];
-            if (vertexIndex != EMPTY_VERTEX_VALUE) {
-                if (vertexIndex < 0) {
-                    // Note that we can use negative references to denote vertices in manner relative to the current point in the file, i.e.
-                    // rather than "the 5th vertex in the file" we can say "the 5th vertex before now"
-                    vertexIndex = vertexIndex + verticesN.size();
-                }
-                if (((vertexIndex - 1) >= 0) && ((vertexIndex - 1) < verticesN.size())) {
-                    // Note: vertex indices are 1-indexed, i.e. they start at
-                    // one, so we offset by -1 for the 0-indexed array lists.
-                    fv.n = verticesN.get(vertexIndex - 1);
-                } else {
-                    log.log(SEVERE, "Index for vertex normal=" + vertexIndex + " is out of the current range of vertex normal values 1 to " + verticesN.size() + ", ignoring");
-                }
+        }
+        if (cursor < length && (line[cursor] == 'e' || line[cursor] == 'E')) {
+            cursor++;
+            boolean negativeExponent = false;
+            if (cursor < length && (line[cursor] == '-' || line[cursor] == '+')) {
+                negativeExponent = line[cursor] == '-';
+                cursor++;
             }
+            int e = parseInt();
+            exponent += negativeExponent ? -e : e;
+        }
 
-            if (fv.v == null) {
-                log.log(SEVERE, "Can't add vertex to face with missing vertex!  Throwing away face.");
-                faceErrorCount++;
-                return;
-            }
+        // skip anything unexpected up to the next separator
+        while (cursor < length && line[cursor] != ' ' && line[cursor] != '\t') {
+            cursor++;
+        }
 
-            // Make sure we don't end up with redundant vertices
-            // combinations - i.e. any specific combination of g,v and
-            // t is only stored once and is reused instead.
-            String key = fv.toString();
-            FaceVertex fv2 = faceVertexMap.get(key);
-            if (null == fv2) {
-                faceVertexMap.put(key, fv);
-                fv.index = faceVertexList.size();
-                faceVertexList.add(fv);
-            } else {
-                fv = fv2;
-            }
+        double value = mantissa;
+        if (exponent > 0) {
+            value *= exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[exponent] : Math.pow(10.0, exponent);
+        } else if (exponent < 0) {
+            value /= -exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[-exponent] : Math.pow(10.0, -exponent);
+        }
+        return (float) (negative ? -value : value);
+    }
+
+    private class ObjectBuilder {
+        private final Long2IntOpenHashMap indices = new Long2IntOpenHashMap();
+
+        private float[] vertices = new float[Mesh.STRIDE * 64];
+        private int vertexCount;
 
-            face.add(fv);
+        private int[] quads = new int[4 * 64];
+        private int quadIndices;
+
+        ObjectBuilder() {
+            indices.defaultReturnValue(-1);
         }
 
-        if (objectName == null) {
-            objectName = "unnamed";
-            objects.put(objectName, new Mesh());
+        void addCorner(int v, int t, int n) {
+            // missing indices are stored as zero
+            long key = ((long) (v + 1) << 42) | ((long) (t + 1) << 21) | (n + 1);
+            int index = indices.get(key);
+            if (index < 0) {
+                index = vertexCount++;
+                indices.put(key, index);
+                writeVertex(index, v, t, n);
+            }
+
+            if (quadIndices == quads.length) {
+                quads = Arrays.copyOf(quads, quads.length * 2);
+            }
+            quads[quadIndices++] = index;
         }
 
-        objects.get(objectName).add(face);
+        private void writeVertex(int index, int v, int t, int n) {
+            int o = index * Mesh.STRIDE;
+            if (o + Mesh.STRIDE > vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            }
 
-        // collect some stats for laughs
-        if (face.vertices.size() == 3) {
-            faceTriCount++;
-        } else if (face.vertices.size() == 4) {
-            faceQuadCount++;
-        } else {
-            facePolyCount++;
+            int p = v * 7;
+            vertices[o + Mesh.POSITION] = positions[p];
+            vertices[o + Mesh.POSITION + 1] = positions[p + 1];
+            vertices[o + Mesh.POSITION + 2] = positions[p + 2];
+            vertices[o + Mesh.COLOR] = positions[p + 3];
+            vertices[o + Mesh.COLOR + 1] = positions[p + 4];
+            vertices[o + Mesh.COLOR + 2] = positions[p + 5];
+            vertices[o + Mesh.COLOR + 3] = positions[p + 6];
+            if (t >= 0) {
+                vertices[o + Mesh.TEXTURE] = textures[t * 2];
+                vertices[o + Mesh.TEXTURE + 1] = textures[t * 2 + 1];
+            }
+            if (n >= 0) {
+                vertices[o + Mesh.NORMAL] = normals[n * 3];
+                vertices[o + Mesh.NORMAL + 1] = normals[n * 3 + 1];
+                vertices[o + Mesh.NORMAL + 2] = normals[n * 3 + 2];
+            }
         }
-    }
 
-    public void addObjectName(String name) {
-        this.objectName = name;
-        if (!objects.containsKey(name)) {
-            objects.put(objectName, new Mesh());
+        Mesh build() {
+            return new Mesh(Arrays.copyOf(vertices, vertexCount * Mesh.STRIDE), Arrays.copyOf(quads, quadIndices));
         }
     }
 }
@@ -1,19 +1,32 @@
 package immersive_aircraft.util.obj;
 
-import java.util.ArrayList;
-
+/**
+ * A compiled object, unique vertices packed into a single float array and quads as indices into it.
+ */
 public class Mesh {
-    public final ArrayList<Face> faces = new ArrayList<>();
+    public static final int POSITION = 0;
+    public static final int TEXTURE = 3;
+    public static final int NORMAL = 5;
+    public static final int COLOR = 8;
+    public static final int STRIDE = 12;
+
+    public final float[] vertices;
+    public final int[] quads;
+
+    public Mesh(float[] vertices, int[] quads) {
+        this.vertices = vertices;
+        this.quads = quads;
+    }
+
+    public int getVertexCount() {
+        return vertices.length / STRIDE;
+    }
 
-    public void add(Face face) {
-        faces.add(face);
+    public int getQuadCount() {
+        return quads.length / 4;
     }
 
     public String toString() {
-        StringBuilder result = new StringBuilder("\tfaces: " + faces.size() + " :\n");
-        for (Face f : faces) {
-            result.append(" \t\t( ").append(f.toString()).append(" )\n");
-        }
-        return result.toString();
+        return "\tvertices: " + getVertexCount() + ", quads: " + getQuadCount();
     }
-}
\ No newline at end of file
+}
@@ -1,32 +0,0 @@
-package immersive_aircraft.util.obj;
-
-// This code was written by myself, Sean R. Owens, sean at guild dot net,
-// and is released to the public domain. Share and enjoy. Since some
-// people argue that it is impossible to release software to the public
-// domain, you are also free to use this code under any version of the
-// GPL, LPGL, Apache, or BSD licenses, or contact me for use of another
-// license.  (I generally don't care so I'll almost certainly say yes.)
-// In addition this code may also be used under the "unlicense" described
-// at http://unlicense.org/ .  See the file UNLICENSE in the repo.
-
-public class VertexNormal {
-    public float x;
-    public float y;
-    public float z;
-
-    public void add(float x, float y, float z) {
-        this.x += x;
-        this.y += y;
-        this.z += z;
-    }
-
-    public VertexNormal(float x, float y, float z) {
-        this.x = x;
-        this.y = y;
-        this.z = z;
-    }
-
-    public String toString() {
-        return x + "," + y + "," + z;
-    }
-}
\ No newline at end of file